@@ -0,0 +1,96 @@
+package functional.benchmark;
+
+import functional.model.Person;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/*
+ * Deterministic fixtures shared by the benchmarks, so that runs of different versions compare
+ * the same inputs.
+ */
+final class BenchmarkData {
+
+  static final long SEED = 42L;
+
+  private static final String[] VOCABULARY = {
+    "alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "golf", "hotel", "india", "juliet"
+  };
+
+  private BenchmarkData() {}
+
+  static List<Integer> integers(int size) {
+    SplittableRandom random = new SplittableRandom(SEED);
+    return IntStream.range(0, size).mapToObj(i -> random.nextInt(-1_000_000, 1_000_000)).toList();
+  }
+
+  static List<Integer> multiplesOfFive(int size) {
+    return IntStream.range(0, size).mapToObj(i -> i * 5).toList();
+  }
+
+  /*
+   * Words are drawn from a vocabulary that grows with the input, so frequencies stay skewed.
+   */
+  static List<String> words(int size) {
+    SplittableRandom random = new SplittableRandom(SEED);
+    int distinct = Math.max(VOCABULARY.length, size / 10);
+    return IntStream.range(0, size)
+        .mapToObj(
+            i -> {
+              int word = random.nextInt(distinct);
+              return word < VOCABULARY.length ? VOCABULARY[word] : VOCABULARY[word % 10] + word;
+            })
+        .toList();
+  }
+
+  static List<String> uniqueWords(int size) {
+    return IntStream.range(0, size).mapToObj(i -> "word" + i).toList();
+  }
+
+  static List<String> sortedWords(int size) {
+    return uniqueWords(size).stream().sorted().toList();
+  }
+
+  /*
+   * Sentences of ten words, one in four carrying a ddd-ddd-dddd phone number.
+   */
+  static List<String> sentences(int size) {
+    List<String> words = words(size * 10);
+    return IntStream.range(0, size)
+        .mapToObj(
+            i -> {
+              String sentence = String.join(" ", words.subList(i * 10, i * 10 + 10));
+              return i % 4 == 0
+                  ? sentence + String.format(" call +1 %03d-%03d-%04d", i % 1000, i % 997, i % 9973)
+                  : sentence;
+            })
+        .toList();
+  }
+
+  /*
+   * Full names are unique for up to 10M people, which getPersonFullNameAndAge requires.
+   */
+  static List<Person> people(int size) {
+    SplittableRandom random = new SplittableRandom(SEED);
+    LocalDate start = LocalDate.of(1950, 1, 1);
+    return IntStream.range(0, size)
+        .mapToObj(
+            i ->
+                Person.builder()
+                    .withFirstName("First" + (i % 4000))
+                    .withLastName("Last" + (i / 4000))
+                    .withDateOfBirth(start.plusDays(random.nextInt(365 * 70)))
+                    .build())
+        .toList();
+  }
+
+  static String[] urls(int size) {
+    String[] hosts = {"http://www.google.com", "https://example.org:8443/path", "www.google.com:"};
+    return IntStream.range(0, size).mapToObj(i -> hosts[i % hosts.length]).toArray(String[]::new);
+  }
+
+  static double[] divisors(int size) {
+    return IntStream.range(0, size).mapToDouble(i -> i % 7).toArray();
+  }
+}
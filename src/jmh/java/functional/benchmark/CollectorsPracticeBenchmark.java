@@ -0,0 +1,119 @@
+package functional.benchmark;
+
+import functional.model.Person;
+import functional.streams.example.Batches;
+import functional.streams.example.CollectorsPractice;
+import functional.utils.PersonTable;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Benchmark)
+public class CollectorsPracticeBenchmark {
+
+  private final CollectorsPractice collectorsPractice = new CollectorsPractice();
+
+  @State(Scope.Benchmark)
+  public static class Words {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    List<String> words;
+
+    @Setup
+    public void setUp() {
+      words = BenchmarkData.words(size);
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class People {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    List<Person> people;
+    PersonTable table;
+
+    @Setup
+    public void setUp() {
+      people = BenchmarkData.people(size);
+      table = PersonTable.of(people);
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class Integers {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    List<Integer> values;
+
+    @Setup
+    public void setUp() {
+      values = BenchmarkData.integers(size);
+    }
+  }
+
+  @Benchmark
+  public Map<String, Long> getWordsFrequency(Words input) {
+    return collectorsPractice.getWordsFrequency(input.words);
+  }
+
+  @Benchmark
+  public Map<Integer, Set<String>> groupWordsByFrequency(Words input) {
+    return collectorsPractice.groupWordsByFrequency(input.words);
+  }
+
+  @Benchmark
+  public Map<String, Integer> getPersonFullNameAndAge(People input) {
+    return collectorsPractice.getPersonFullNameAndAge(input.people);
+  }
+
+  @Benchmark
+  public Map<Boolean, List<String>> partitionPeopleByAgeGroupAbove18(People input) {
+    return collectorsPractice.partitionPeopleByAgeGroupAbove18(input.people);
+  }
+
+  /*
+   * The age partition alone, on a table that is already built.
+   */
+  @Benchmark
+  public int[] personTableRowsAtLeast18(People input) {
+    return input.table.rowsAtLeast(18, LocalDate.now());
+  }
+
+  @Benchmark
+  public Collection<List<Integer>> partitionListByRange(Integers input) {
+    return collectorsPractice.partitionListByRange(input.values, Math.min(1000, input.size));
+  }
+
+  /*
+   * partitionListByRange now returns views, so this one measures batching a parallel stream.
+   */
+  @Benchmark
+  public long batchesOfParallelStream(Integers input) {
+    return Batches.batches(input.values.parallelStream(), 1000).mapToLong(List::size).sum();
+  }
+}
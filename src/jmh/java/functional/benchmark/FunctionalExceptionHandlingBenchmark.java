@@ -0,0 +1,63 @@
+package functional.benchmark;
+
+import functional.vavr.concepts.FunctionalExceptionHandling;
+import functional.vavr.concepts.UrlValidation;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/*
+ * Both operations work on a single value, so each invocation runs them over size inputs.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Benchmark)
+public class FunctionalExceptionHandlingBenchmark {
+
+  private final FunctionalExceptionHandling functionalExceptionHandling =
+      new FunctionalExceptionHandling();
+
+  @Param({"10", "1000", "100000", "10000000"})
+  int size;
+
+  double[] divisors;
+  String[] urls;
+
+  @Setup
+  public void setUp() {
+    divisors = BenchmarkData.divisors(size);
+    urls = BenchmarkData.urls(size);
+  }
+
+  @Benchmark
+  public void divide(Blackhole blackhole) {
+    for (double divisor : divisors) {
+      blackhole.consume(functionalExceptionHandling.divide(size, divisor));
+    }
+  }
+
+  @Benchmark
+  public void validateURL(Blackhole blackhole) {
+    for (String url : urls) {
+      blackhole.consume(functionalExceptionHandling.validateURL(url));
+    }
+  }
+
+  @Benchmark
+  public UrlValidation validateURLs() {
+    return functionalExceptionHandling.validateURLs(urls);
+  }
+}
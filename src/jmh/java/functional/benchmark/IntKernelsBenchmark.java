@@ -0,0 +1,114 @@
+package functional.benchmark;
+
+import functional.streams.example.IntKernels;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * IntStream baseline against IntKernels. The fork adds jdk.incubator.vector so the kernels run
+ * vectorised; drop the module from jvmArgsAppend to measure the scalar fallback.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx6g", "--add-modules=jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class IntKernelsBenchmark {
+
+  @Param({"10", "1000", "100000", "10000000"})
+  int size;
+
+  int[] values;
+  int[] multiplesOfFive;
+  int[] evens;
+
+  @Setup
+  public void setUp() {
+    values = new SplittableRandom(BenchmarkData.SEED).ints(size).toArray();
+    multiplesOfFive = Arrays.stream(values).map(e -> e - e % 5).map(Math::abs).toArray();
+    evens = Arrays.stream(values).map(e -> e & ~1).toArray();
+  }
+
+  @Benchmark
+  public int sumStream() {
+    return Arrays.stream(values).sum();
+  }
+
+  @Benchmark
+  public int sumKernel() {
+    return IntKernels.sum(values);
+  }
+
+  @Benchmark
+  public int minStream() {
+    return Arrays.stream(values).min().orElseThrow();
+  }
+
+  @Benchmark
+  public int minKernel() {
+    return IntKernels.min(values);
+  }
+
+  @Benchmark
+  public int maxStream() {
+    return Arrays.stream(values).max().orElseThrow();
+  }
+
+  @Benchmark
+  public int maxKernel() {
+    return IntKernels.max(values);
+  }
+
+  @Benchmark
+  public boolean allMultiplesOfFiveStream() {
+    return Arrays.stream(multiplesOfFive).allMatch(e -> Integer.remainderUnsigned(e, 5) == 0);
+  }
+
+  @Benchmark
+  public boolean allMultiplesOfFiveKernel() {
+    return IntKernels.allMultiplesOfFive(multiplesOfFive);
+  }
+
+  @Benchmark
+  public boolean anyOddStream() {
+    return Arrays.stream(evens).anyMatch(e -> Integer.remainderUnsigned(e, 2) > 0);
+  }
+
+  @Benchmark
+  public boolean anyOddKernel() {
+    return IntKernels.anyOdd(evens);
+  }
+
+  @Benchmark
+  public int[] doubleElementsStream() {
+    return Arrays.stream(values).map(e -> e * 2).toArray();
+  }
+
+  @Benchmark
+  public int[] doubleElementsKernel() {
+    return IntKernels.doubleElements(values);
+  }
+
+  @Benchmark
+  public int[] multiplyStream() {
+    return Arrays.stream(values).map(e -> e * 3).toArray();
+  }
+
+  @Benchmark
+  public int[] multiplyKernel() {
+    return IntKernels.multiply(values, 3);
+  }
+}
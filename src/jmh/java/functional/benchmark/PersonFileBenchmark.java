@@ -0,0 +1,63 @@
+package functional.benchmark;
+
+import functional.utils.PersonFile;
+import functional.utils.PersonTable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * Opening a people file costs the same whatever its size; loading it into a PersonTable is one
+ * sequential pass over the mapped rows.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Benchmark)
+public class PersonFileBenchmark {
+
+  @Param({"10", "1000", "100000", "10000000"})
+  int size;
+
+  Path directory;
+
+  @Setup
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("people");
+    PersonFile.write(directory.resolve("people.bin"), BenchmarkData.people(size)).get();
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(directory.resolve("people.bin"));
+    Files.deleteIfExists(directory);
+  }
+
+  @Benchmark
+  public int openAndReadLastRow() {
+    PersonFile file = PersonFile.open(directory.resolve("people.bin")).get();
+    return file.birthEpochDay(file.size() - 1);
+  }
+
+  @Benchmark
+  public int[] loadTableRowsAtLeast18() {
+    PersonTable table = PersonFile.open(directory.resolve("people.bin")).get().toTable();
+    return table.rowsAtLeast(18, LocalDate.now());
+  }
+}
@@ -0,0 +1,109 @@
+package functional.benchmark;
+
+import functional.streams.example.FlowPipeline;
+import functional.streams.example.StreamsPractice;
+import functional.streams.example.WhitespaceTokenizer;
+import functional.streams.example.WordFrequencyCounter;
+import functional.utils.UTF8FileReaderUtility;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * Sequential versus parallel sentence reading over a generated file; run with -t 1 and compare
+ * against the machine's core count to read the parallel speedup.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Benchmark)
+public class SentenceReaderBenchmark {
+
+  private final StreamsPractice streamsPractice = new StreamsPractice();
+
+  /*
+   * Number of sentences written to the file.
+   */
+  @Param({"10", "1000", "100000", "10000000"})
+  int size;
+
+  Path directory;
+
+  @Setup
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("sentences");
+    List<String> sentences = BenchmarkData.sentences(Math.min(size, 100_000));
+    try (Writer writer =
+        Files.newBufferedWriter(directory.resolve("sentences.txt"), StandardCharsets.UTF_8)) {
+      for (int i = 0; i < size; i++) {
+        writer.write(sentences.get(i % sentences.size()));
+        writer.write(i % 8 == 0 ? ".\n" : ". ");
+      }
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(directory.resolve("sentences.txt"));
+    Files.deleteIfExists(directory);
+  }
+
+  @Benchmark
+  public List<String> phoneNumbersSequential() {
+    try (Stream<String> sentences =
+        UTF8FileReaderUtility.streamFileContentsAsSentences(
+            directory.toString(), "sentences.txt")) {
+      return streamsPractice.getValidPhoneNumbersFromStream(sentences);
+    }
+  }
+
+  @Benchmark
+  public List<String> phoneNumbersParallel() {
+    try (Stream<String> sentences =
+        UTF8FileReaderUtility.streamFileContentsAsSentencesInParallel(
+            directory.toString(), "sentences.txt")) {
+      return streamsPractice.getValidPhoneNumbersFromStream(sentences);
+    }
+  }
+
+  @Benchmark
+  public WordFrequencyCounter wordCountLoop() {
+    WordFrequencyCounter counter = new WordFrequencyCounter();
+    try (Stream<String> sentences =
+        UTF8FileReaderUtility.streamFileContentsAsSentences(
+            directory.toString(), "sentences.txt")) {
+      sentences.forEach(
+          sentence ->
+              WhitespaceTokenizer.tokenize(
+                  sentence,
+                  (text, start, end) -> {
+                    if (end > start) counter.add(text.subSequence(start, end).toString());
+                  }));
+    }
+    return counter;
+  }
+
+  @Benchmark
+  public WordFrequencyCounter wordCountFlow() {
+    return FlowPipeline.countWordsInFile(directory.toString(), "sentences.txt").join();
+  }
+}
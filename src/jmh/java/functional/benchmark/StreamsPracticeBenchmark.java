@@ -0,0 +1,243 @@
+package functional.benchmark;
+
+import functional.enums.EmployeeTypeCode;
+import functional.streams.example.Fibonacci;
+import functional.streams.example.RandomIntegers;
+import functional.streams.example.StreamsPractice;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Benchmark)
+public class StreamsPracticeBenchmark {
+
+  private final StreamsPractice streamsPractice = new StreamsPractice();
+
+  @State(Scope.Benchmark)
+  public static class Integers {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    List<Integer> values;
+    List<Integer> multiplesOfFive;
+    List<Integer> otherValues;
+
+    @Setup
+    public void setUp() {
+      values = BenchmarkData.integers(size);
+      multiplesOfFive = BenchmarkData.multiplesOfFive(size);
+      otherValues = BenchmarkData.integers(size).stream().map(e -> e + 1).toList();
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class Words {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    List<String> words;
+    List<String> uniqueWords;
+    List<String> otherWords;
+    List<String> sortedWords;
+    List<String> otherSortedWords;
+
+    @Setup
+    public void setUp() {
+      words = BenchmarkData.words(size);
+      uniqueWords = BenchmarkData.uniqueWords(size);
+      otherWords = BenchmarkData.words(size).stream().map(String::toUpperCase).toList();
+      sortedWords = BenchmarkData.sortedWords(size);
+      otherSortedWords = otherWords.stream().sorted().toList();
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class Sentences {
+
+    /*
+     * Total number of words across all sentences.
+     */
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    List<String> sentences;
+
+    @Setup
+    public void setUp() {
+      sentences = BenchmarkData.sentences(Math.max(1, size / 10));
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class Limit {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+  }
+
+  @Benchmark
+  public int sumOfIntegers(Integers input) {
+    return streamsPractice.sumOfIntegers(input.values);
+  }
+
+  @Benchmark
+  public Double averageOfIntegers(Integers input) {
+    return streamsPractice.averageOfIntegers(input.values);
+  }
+
+  @Benchmark
+  public IntSummaryStatistics statisticsOfIntegers(Integers input) {
+    return streamsPractice.statisticsOfIntegers(input.values);
+  }
+
+  @Benchmark
+  public Boolean isAllMultiplesOfFive(Integers input) {
+    return streamsPractice.isAllMultiplesOfFive(input.multiplesOfFive);
+  }
+
+  @Benchmark
+  public Boolean checkIfOddElementsArePresent(Integers input) {
+    return streamsPractice.checkIfOddElementsArePresent(input.multiplesOfFive);
+  }
+
+  @Benchmark
+  public List<Integer> doubleElements(Integers input) {
+    return streamsPractice.doubleElements(input.values);
+  }
+
+  @Benchmark
+  public List<Integer> multiplyElementsWithCollector(Integers input) {
+    return streamsPractice.multiplyElementsWithCollector(input.values, 3);
+  }
+
+  @Benchmark
+  public long countElementsThatMatchCriteria(Integers input) {
+    return streamsPractice.countElementsThatMatchCriteria(input.values, e -> e % 2 == 0);
+  }
+
+  @Benchmark
+  public int min(Integers input) {
+    return streamsPractice.min(input.values);
+  }
+
+  @Benchmark
+  public int max(Integers input) {
+    return streamsPractice.max(input.values);
+  }
+
+  @Benchmark
+  public String[] transformIntegersToString(Integers input) {
+    return streamsPractice.transformIntegersToString(input.values);
+  }
+
+  @Benchmark
+  public List<Integer> union(Integers input) {
+    return streamsPractice.union(input.values, input.otherValues);
+  }
+
+  @Benchmark
+  public List<Integer> distinctUnion(Integers input) {
+    return streamsPractice.distinctUnion(input.values, input.otherValues);
+  }
+
+  @Benchmark
+  public List<String> sortTwoList(Words input) {
+    return streamsPractice.sortTwoList(input.words, input.otherWords);
+  }
+
+  @Benchmark
+  public List<String> sortTwoSortedLists(Words input) {
+    return streamsPractice.sortTwoList(input.sortedWords, input.otherSortedWords);
+  }
+
+  @Benchmark
+  public Boolean checkIfUniqueElementsOnly(Words input) {
+    return streamsPractice.checkIfUniqueElementsOnly(input.uniqueWords);
+  }
+
+  @Benchmark
+  public List<String> convertAnyCaseToTitleCase(Words input) {
+    return streamsPractice.convertAnyCaseToTitleCase(input.words);
+  }
+
+  @Benchmark
+  public List<String> suffixWord(Words input) {
+    return streamsPractice.suffixWord(input.words, "wood");
+  }
+
+  @Benchmark
+  public List<String> intersection(Words input) {
+    return streamsPractice.intersection(input.words, input.uniqueWords);
+  }
+
+  @Benchmark
+  public List<String> getUniqueWordsFromSentences(Sentences input) {
+    return streamsPractice.getUniqueWordsFromSentences(input.sentences);
+  }
+
+  @Benchmark
+  public List<String> getValidPhoneNumbersFromFile(Sentences input) {
+    return streamsPractice.getValidPhoneNumbersFromFile(input.sentences);
+  }
+
+  @Benchmark
+  public List<Integer> randomIntegersSupplier(Limit input) {
+    return streamsPractice.randomIntegersSupplier(input.size);
+  }
+
+  @Benchmark
+  public int[] randomIntegersGenerate(Limit input) {
+    return RandomIntegers.generate(BenchmarkData.SEED, input.size);
+  }
+
+  /*
+   * Only the first 47 terms fit in the int typed list.
+   */
+  @Benchmark
+  public List<Integer> generateFirstNFibonacciNumbers(Limit input) {
+    return streamsPractice.generateFirstNFibonacciNumbers(Math.min(input.size, 47));
+  }
+
+  @Benchmark
+  public Number fibonacciTerm(Limit input) {
+    return Fibonacci.term(input.size);
+  }
+
+  @Benchmark
+  public List<EmployeeTypeCode> getEmployeeTypeCodeWithRankAbove() {
+    return streamsPractice.getEmployeeTypeCodeWithRankAbove(7);
+  }
+
+  /*
+   * Decodes every code of a message in place, as a consumer of coded messages would.
+   */
+  @Benchmark
+  public int decodeEmployeeTypeCodes() {
+    String message = "CSE;DIR;AYT;DEV;SME;QAT;SM;RTE";
+    int ranks = 0;
+    for (int start = 0, end; start < message.length(); start = end + 1) {
+      end = message.indexOf(';', start);
+      if (end < 0) end = message.length();
+      ranks += EmployeeTypeCode.fromEmployeeCode(message, start, end).getRank();
+    }
+    return ranks;
+  }
+}
@@ -0,0 +1,94 @@
+package functional.benchmark;
+
+import functional.vavr.concepts.IntPipeline;
+import functional.vavr.concepts.OptionVector;
+import functional.vavr.concepts.Pipeline;
+import functional.vavr.concepts.VavrFunctionsFeatures;
+import io.vavr.Function1;
+import io.vavr.control.Option;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Benchmark)
+public class VavrFunctionsFeaturesBenchmark {
+
+  private final VavrFunctionsFeatures vavrFunctionsFeatures = new VavrFunctionsFeatures();
+  private final Function1<String, Integer> parse = Integer::parseInt;
+  private final Function1<Integer, Integer> timesTen = a -> a * 10;
+  private final Function1<Integer, Integer> plusOne = a -> a + 1;
+  private final Function1<Integer, Integer> negate = a -> -a;
+  private final Pipeline<String, Integer> fourStages =
+      Pipeline.of(parse).then(timesTen).then(plusOne).then(negate);
+  private final Pipeline<String, Integer> fourStagesUnboxed =
+      Pipeline.<String>identity()
+          .thenInts(
+              Integer::parseInt,
+              IntPipeline.of(a -> a * 10).then(a -> a + 1).then(a -> -a),
+              Integer::valueOf);
+
+  @Param({"10", "1000", "100000", "10000000"})
+  int size;
+
+  List<String> numbers;
+
+  /*
+   * Every fourth entry is not a number, so lift produces a mix of Some and None.
+   */
+  List<String> mixed;
+
+  @Setup
+  public void setUp() {
+    List<Integer> integers = BenchmarkData.integers(size);
+    numbers = integers.stream().map(String::valueOf).toList();
+    mixed = integers.stream().map(e -> e % 4 == 0 ? e + "x" : String.valueOf(e)).toList();
+  }
+
+  @Benchmark
+  public List<Integer> compose() {
+    return vavrFunctionsFeatures.compose(numbers, parse, timesTen);
+  }
+
+  @Benchmark
+  public List<Integer> composeFourStagesNested() {
+    return vavrFunctionsFeatures.compose(numbers, parse, negate.compose(plusOne).compose(timesTen));
+  }
+
+  @Benchmark
+  public List<Integer> pipelineFourStages() {
+    return fourStages.apply(numbers);
+  }
+
+  @Benchmark
+  public List<Integer> pipelineFourStagesUnboxed() {
+    return fourStagesUnboxed.apply(numbers);
+  }
+
+  @Benchmark
+  public List<Option<Integer>> lift() {
+    return vavrFunctionsFeatures.lift(mixed, parse);
+  }
+
+  /*
+   * The columnar lift alone, summing the defined values without any Option.
+   */
+  @Benchmark
+  public long liftToInt() {
+    return OptionVector.liftToInt(mixed, Integer::parseInt).definedValues().asLongStream().sum();
+  }
+}
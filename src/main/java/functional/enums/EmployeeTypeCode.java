@@ -1,5 +1,9 @@
 package functional.enums;
 
+import functional.utils.EnumRegistry;
+import java.util.List;
+import java.util.Optional;
+
 public enum EmployeeTypeCode {
   C_SUITE("CSE", 1),
   DIRECTOR("DIR", 3),
@@ -10,6 +14,9 @@ public enum EmployeeTypeCode {
   SCRUM_MASTER("SM", 11),
   RELEASE_TRAIN_ENGINEER("RTE", 4);
 
+  private static final EnumRegistry<EmployeeTypeCode> REGISTRY =
+      EnumRegistry.of(EmployeeTypeCode.class, EmployeeTypeCode::getEmployeeCode, e -> e.rank);
+
   private final String employeeCode;
   private final Integer rank;
 
@@ -21,4 +28,30 @@ public enum EmployeeTypeCode {
   public Integer getRank() {
     return this.rank;
   }
+
+  public String getEmployeeCode() {
+    return this.employeeCode;
+  }
+
+  public static Optional<EmployeeTypeCode> findByEmployeeCode(CharSequence employeeCode) {
+    return REGISTRY.find(employeeCode);
+  }
+
+  /*
+   * Decodes text[start, end), e.g. a field of a message, without creating a String.
+   */
+  public static EmployeeTypeCode fromEmployeeCode(CharSequence text, int start, int end) {
+    return REGISTRY.byCode(text, start, end);
+  }
+
+  public static EmployeeTypeCode fromEmployeeCode(CharSequence employeeCode) {
+    return REGISTRY.byCode(employeeCode);
+  }
+
+  /*
+   * Constants ranked below the limit, in declaration order; the list is cached.
+   */
+  public static List<EmployeeTypeCode> withRankBelow(int rankLimit) {
+    return REGISTRY.rankedBelow(rankLimit);
+  }
 }
@@ -0,0 +1,150 @@
+package functional.streams.example;
+
+import com.google.common.base.Preconditions;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/*
+ * Splits elements into consecutive batches of a fixed size; only the last batch may be shorter.
+ * Random access lists are cut into subList views without copying. Streams and iterators are
+ * batched lazily, one batch in memory at a time, and batch boundaries stay the same when the
+ * stream is parallel: splitting reads whole batches off the front of the source, the way the
+ * JDK splits iterator backed streams, instead of splitting the source where it pleases.
+ */
+public final class Batches {
+
+  // Batches handed to each split grow by this many, as in Spliterators.IteratorSpliterator
+  private static final int SPLIT_BATCH_UNIT = 16;
+  private static final int MAX_SPLIT_BATCHES = 1 << 12;
+
+  private Batches() {}
+
+  /*
+   * The batches are views over the list when it is random access, so they see later changes to
+   * it; other lists are copied batch by batch.
+   */
+  public static <T> List<List<T>> partition(List<T> list, int size) {
+    Objects.requireNonNull(list, "list must not be null");
+    Preconditions.checkArgument(size > 0, "size should be positive");
+    if (list instanceof RandomAccess) return new SubListBatches<>(list, size);
+    List<List<T>> batches = new ArrayList<>();
+    batches(list.iterator(), size).forEachRemaining(batches::add);
+    return batches;
+  }
+
+  public static <T> Iterator<List<T>> batches(Iterator<T> iterator, int size) {
+    Objects.requireNonNull(iterator, "iterator must not be null");
+    Preconditions.checkArgument(size > 0, "size should be positive");
+    return new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public List<T> next() {
+        if (!iterator.hasNext()) throw new NoSuchElementException();
+        List<T> batch = new ArrayList<>(size);
+        while (batch.size() < size && iterator.hasNext()) {
+          batch.add(iterator.next());
+        }
+        return batch;
+      }
+    };
+  }
+
+  /*
+   * Keeps the parallel flag of the stream; closing the batches closes the stream.
+   */
+  public static <T> Stream<List<T>> batches(Stream<T> stream, int size) {
+    Objects.requireNonNull(stream, "stream must not be null");
+    Preconditions.checkArgument(size > 0, "size should be positive");
+    BatchSpliterator<T> batches = new BatchSpliterator<>(stream.spliterator(), size);
+    return StreamSupport.stream(batches, stream.isParallel()).onClose(stream::close);
+  }
+
+  private static final class SubListBatches<T> extends AbstractList<List<T>>
+      implements RandomAccess {
+
+    private final List<T> list;
+    private final int size;
+
+    SubListBatches(List<T> list, int size) {
+      this.list = list;
+      this.size = size;
+    }
+
+    @Override
+    public List<T> get(int index) {
+      Objects.checkIndex(index, size());
+      int from = index * size;
+      return list.subList(from, Math.min(list.size(), from + size));
+    }
+
+    @Override
+    public int size() {
+      return (int) (((long) list.size() + size - 1) / size);
+    }
+  }
+
+  private static final class BatchSpliterator<T> implements Spliterator<List<T>> {
+
+    private final Spliterator<T> source;
+    private final int size;
+    private int splitBatches;
+
+    BatchSpliterator(Spliterator<T> source, int size) {
+      this.source = source;
+      this.size = size;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super List<T>> action) {
+      List<T> batch = nextBatch();
+      if (batch == null) return false;
+      action.accept(batch);
+      return true;
+    }
+
+    @Override
+    public Spliterator<List<T>> trySplit() {
+      if (source.estimateSize() <= size) return null;
+      splitBatches = Math.min(MAX_SPLIT_BATCHES, splitBatches + SPLIT_BATCH_UNIT);
+      List<List<T>> prefix = new ArrayList<>(splitBatches);
+      List<T> batch;
+      while (prefix.size() < splitBatches && (batch = nextBatch()) != null) {
+        prefix.add(batch);
+      }
+      return prefix.isEmpty() ? null : prefix.spliterator();
+    }
+
+    @Override
+    public long estimateSize() {
+      long elements = source.estimateSize();
+      return elements == Long.MAX_VALUE ? elements : (elements + size - 1) / size;
+    }
+
+    @Override
+    public int characteristics() {
+      return (source.characteristics() & (ORDERED | SIZED)) | NONNULL;
+    }
+
+    private List<T> nextBatch() {
+      List<T> batch = new ArrayList<>((int) Math.min(size, source.estimateSize()));
+      int remaining = size;
+      while (remaining > 0 && source.tryAdvance(batch::add)) {
+        remaining--;
+      }
+      return batch.isEmpty() ? null : batch;
+    }
+  }
+}
@@ -0,0 +1,155 @@
+package functional.streams.example;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+
+/*
+ * Hash based duplicate detection that stops at the first repeated element. Null elements are
+ * ignored, the same way the stream based methods filter them out.
+ */
+public final class DuplicateFinder {
+
+  public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+  private static final int FIRST_WINDOW = 1 << 12;
+  private static final int MAX_WINDOW = 1 << 20;
+
+  private DuplicateFinder() {}
+
+  public record Duplicate<T>(T element, int firstIndex, int duplicateIndex) {}
+
+  public static <T> Optional<Duplicate<T>> findFirst(List<T> elements) {
+    Objects.requireNonNull(elements, "elements must not be null");
+    Map<T, Integer> seen = new HashMap<>();
+    int index = 0;
+    for (T element : elements) {
+      if (element != null) {
+        Integer firstIndex = seen.putIfAbsent(element, index);
+        if (firstIndex != null) return Optional.of(new Duplicate<>(element, firstIndex, index));
+      }
+      index++;
+    }
+    return Optional.empty();
+  }
+
+  public static <T> Optional<Duplicate<T>> findFirstParallel(List<T> elements) {
+    return findFirstParallel(elements, ForkJoinPool.getCommonPoolParallelism());
+  }
+
+  /*
+   * Every partition owns the elements whose hash falls into it, so equal elements always meet in
+   * the same partition and each partition only needs its own map. The list is searched in windows
+   * that double in size: one parallel pass over chunks of a window routes the indexes of its
+   * elements to their partitions, in increasing order, then every partition searches its own
+   * indexes. Partitions stop once they pass the earliest duplicate found so far, and no further
+   * window is read once one is found, which keeps the answer identical to findFirst and the work
+   * close to it when the duplicate is near the front.
+   */
+  public static <T> Optional<Duplicate<T>> findFirstParallel(List<T> elements, int partitions) {
+    Objects.requireNonNull(elements, "elements must not be null");
+    Preconditions.checkArgument(partitions > 0, "partitions should be positive");
+    if (partitions == 1 || elements.size() < PARALLEL_THRESHOLD) return findFirst(elements);
+
+    int size = elements.size();
+    Iterator<T> iterator = elements instanceof RandomAccess ? null : elements.iterator();
+    List<Map<T, Integer>> seen =
+        IntStream.range(0, partitions).<Map<T, Integer>>mapToObj(p -> new HashMap<>()).toList();
+    AtomicInteger earliest = new AtomicInteger(Integer.MAX_VALUE);
+    AtomicReferenceArray<Duplicate<T>> found = new AtomicReferenceArray<>(partitions);
+    for (int start = 0, window = FIRST_WINDOW;
+        start < size && earliest.get() == Integer.MAX_VALUE;
+        start += window, window = Math.min(window * 2, MAX_WINDOW)) {
+      int end = Math.min(size, start + window);
+      List<T> slice;
+      if (iterator == null) {
+        slice = elements.subList(start, end);
+      } else {
+        slice = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) slice.add(iterator.next());
+      }
+      searchWindow(slice, start, partitions, seen, earliest, found);
+    }
+
+    int winner = earliest.get();
+    for (int partition = 0; partition < partitions; partition++) {
+      Duplicate<T> duplicate = found.get(partition);
+      if (duplicate != null && duplicate.duplicateIndex() == winner) return Optional.of(duplicate);
+    }
+    return Optional.empty();
+  }
+
+  private static <T> void searchWindow(
+      List<T> window,
+      int offset,
+      int partitions,
+      List<Map<T, Integer>> seen,
+      AtomicInteger earliest,
+      AtomicReferenceArray<Duplicate<T>> found) {
+    int size = window.size();
+    int chunkSize = (size + partitions - 1) / partitions;
+    // [chunk][partition] -> indexes of the chunk's elements in the partition, then their count
+    int[][][] routed = new int[partitions][][];
+    int[][] routedCounts = new int[partitions][];
+    IntStream.range(0, partitions)
+        .parallel()
+        .forEach(
+            chunk -> {
+              int[][] indexes = new int[partitions][];
+              int[] counts = new int[partitions];
+              int expected = Math.max(16, chunkSize / partitions);
+              for (int i = chunk * chunkSize, end = Math.min(size, i + chunkSize); i < end; i++) {
+                T element = window.get(i);
+                if (element == null) continue;
+                int partition = partitionOf(element, partitions);
+                int[] partitionIndexes = indexes[partition];
+                if (partitionIndexes == null) {
+                  partitionIndexes = indexes[partition] = new int[expected];
+                } else if (counts[partition] == partitionIndexes.length) {
+                  partitionIndexes = Arrays.copyOf(partitionIndexes, partitionIndexes.length * 2);
+                  indexes[partition] = partitionIndexes;
+                }
+                partitionIndexes[counts[partition]++] = i;
+              }
+              routed[chunk] = indexes;
+              routedCounts[chunk] = counts;
+            });
+
+    IntStream.range(0, partitions)
+        .parallel()
+        .forEach(
+            partition -> {
+              Map<T, Integer> partitionSeen = seen.get(partition);
+              for (int chunk = 0; chunk < partitions; chunk++) {
+                int[] indexes = routed[chunk][partition];
+                for (int j = 0, count = routedCounts[chunk][partition]; j < count; j++) {
+                  int i = offset + indexes[j];
+                  if (i >= earliest.get()) return;
+                  T element = window.get(indexes[j]);
+                  Integer firstIndex = partitionSeen.putIfAbsent(element, i);
+                  if (firstIndex != null) {
+                    found.set(partition, new Duplicate<>(element, firstIndex, i));
+                    earliest.accumulateAndGet(i, Math::min);
+                    return;
+                  }
+                }
+              }
+            });
+  }
+
+  private static int partitionOf(Object element, int partitions) {
+    int h = element.hashCode() * 0x9E3779B9;
+    return Math.floorMod(h ^ (h >>> 16), partitions);
+  }
+}
@@ -0,0 +1,211 @@
+package functional.streams.example;
+
+import com.google.common.base.Preconditions;
+import io.vavr.control.Try;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/*
+ * Sorts more strings than fit in the heap. Strings are buffered until their estimated size
+ * reaches the memory budget, then the buffer is sorted and spilled to a temp file as a sorted run.
+ * The runs, plus whatever is left in memory, are merged lazily with SortedMerge; when there are
+ * more than MAX_FAN_IN runs they are first merged in passes so that only that many files are
+ * open at a time. Input that fits in the budget never touches the disk.
+ *
+ * The result is a lazy stream that reads the runs as it is consumed; close it to delete them.
+ */
+public final class ExternalSort {
+
+  static final int MAX_FAN_IN = 64;
+  // Rough heap cost of a String beyond its chars: object, array header and the list slot
+  private static final long STRING_OVERHEAD_BYTES = 64;
+  private static final int IO_BUFFER_SIZE = 1 << 16;
+
+  private ExternalSort() {}
+
+  public static Stream<String> sort(Stream<String> strings, long memoryBudgetBytes) {
+    return sort(strings, memoryBudgetBytes, Path.of(System.getProperty("java.io.tmpdir")));
+  }
+
+  /*
+   * Null strings are skipped.
+   */
+  public static Stream<String> sort(
+      Stream<String> strings, long memoryBudgetBytes, Path tempDirectory) {
+    Objects.requireNonNull(strings, "strings must not be null");
+    Objects.requireNonNull(tempDirectory, "tempDirectory must not be null");
+    Preconditions.checkArgument(memoryBudgetBytes > 0, "memoryBudgetBytes should be positive");
+    List<Run> runs = new ArrayList<>();
+    List<String> buffer = new ArrayList<>();
+    long bufferedBytes = 0;
+    try {
+      for (Iterator<String> iterator = strings.iterator(); iterator.hasNext(); ) {
+        String string = iterator.next();
+        if (string == null) continue;
+        buffer.add(string);
+        bufferedBytes += STRING_OVERHEAD_BYTES + 2L * string.length();
+        if (bufferedBytes >= memoryBudgetBytes) {
+          buffer.sort(Comparator.naturalOrder());
+          runs.add(Run.write(buffer.iterator(), buffer.size(), tempDirectory));
+          buffer.clear();
+          bufferedBytes = 0;
+        }
+      }
+      // TimSort, so presorted input is only scanned
+      buffer.sort(Comparator.naturalOrder());
+      if (runs.isEmpty()) return buffer.stream();
+      while (runs.size() > MAX_FAN_IN) {
+        runs = mergePass(runs, tempDirectory);
+      }
+      return merged(runs, buffer);
+    } catch (IOException | RuntimeException e) {
+      runs.forEach(Run::delete);
+      throw e instanceof IOException io ? new UncheckedIOException(io) : (RuntimeException) e;
+    }
+  }
+
+  private static List<Run> mergePass(List<Run> runs, Path tempDirectory) throws IOException {
+    List<Run> merged = new ArrayList<>();
+    try {
+      for (int from = 0; from < runs.size(); from += MAX_FAN_IN) {
+        List<Run> group = runs.subList(from, Math.min(runs.size(), from + MAX_FAN_IN));
+        List<RunReader> readers = new ArrayList<>(group.size());
+        try {
+          long count = 0;
+          for (Run run : group) {
+            readers.add(run.open());
+            count += run.count();
+          }
+          merged.add(
+              Run.write(
+                  SortedMerge.merge(readers, Comparator.naturalOrder()), count, tempDirectory));
+        } finally {
+          readers.forEach(RunReader::close);
+          group.forEach(Run::delete);
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      // The caller only knows about the runs of the previous pass
+      merged.forEach(Run::delete);
+      throw e;
+    }
+    return merged;
+  }
+
+  private static Stream<String> merged(List<Run> runs, List<String> buffer) throws IOException {
+    List<RunReader> readers = new ArrayList<>(runs.size());
+    Runnable release =
+        () -> {
+          readers.forEach(RunReader::close);
+          runs.forEach(Run::delete);
+        };
+    try {
+      for (Run run : runs) {
+        readers.add(run.open());
+      }
+    } catch (IOException e) {
+      release.run();
+      throw e;
+    }
+    List<Iterator<String>> sources = new ArrayList<>(readers);
+    sources.add(buffer.iterator());
+    Iterator<String> merged = SortedMerge.merge(sources, Comparator.naturalOrder());
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                merged, Spliterator.ORDERED | Spliterator.NONNULL),
+            false)
+        .onClose(release);
+  }
+
+  /*
+   * A sorted run on disk: the string count, then every string as its UTF-8 length and bytes.
+   */
+  private record Run(Path path, long count) {
+
+    static Run write(Iterator<String> sorted, long count, Path tempDirectory) throws IOException {
+      Path path = Files.createTempFile(tempDirectory, "external-sort-", ".run");
+      try (DataOutputStream out =
+          new DataOutputStream(
+              new BufferedOutputStream(Files.newOutputStream(path), IO_BUFFER_SIZE))) {
+        out.writeLong(count);
+        while (sorted.hasNext()) {
+          byte[] bytes = sorted.next().getBytes(StandardCharsets.UTF_8);
+          out.writeInt(bytes.length);
+          out.write(bytes);
+        }
+      } catch (IOException e) {
+        Files.deleteIfExists(path);
+        throw e;
+      }
+      return new Run(path, count);
+    }
+
+    RunReader open() throws IOException {
+      DataInputStream in =
+          new DataInputStream(
+              new BufferedInputStream(Files.newInputStream(path), IO_BUFFER_SIZE));
+      try {
+        return new RunReader(in);
+      } catch (IOException | RuntimeException e) {
+        Try.run(in::close);
+        throw e;
+      }
+    }
+
+    void delete() {
+      Try.run(() -> Files.deleteIfExists(path));
+    }
+  }
+
+  private static final class RunReader implements Iterator<String>, Closeable {
+
+    private final DataInputStream in;
+    private long remaining;
+
+    RunReader(DataInputStream in) throws IOException {
+      this.in = in;
+      this.remaining = in.readLong();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return remaining > 0;
+    }
+
+    @Override
+    public String next() {
+      if (remaining == 0) throw new NoSuchElementException();
+      try {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        remaining--;
+        return new String(bytes, StandardCharsets.UTF_8);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void close() {
+      Try.run(in::close);
+    }
+  }
+}
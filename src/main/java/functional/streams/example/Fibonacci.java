@@ -0,0 +1,115 @@
+package functional.streams.example;
+
+import com.google.common.base.Preconditions;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * Fibonacci terms that never overflow: a term is an Integer while it fits, then a Long, then a
+ * BigInteger. The first terms are kept in a shared prefix that is extended lazily and replaced,
+ * never mutated, so readers only need the volatile read. Terms past the cached prefix are
+ * computed by fast doubling in O(log n) multiplications.
+ */
+public final class Fibonacci {
+
+  // F(46) is the last term that fits in an int, F(92) the last that fits in a long
+  static final int INT_TERMS = 47;
+  static final int LONG_TERMS = 93;
+  static final int MAX_CACHED_TERMS = 10_000;
+
+  private static volatile Number[] prefix = {0, 1};
+
+  private Fibonacci() {}
+
+  public static Number term(long n) {
+    Preconditions.checkArgument(n >= 0, "n should be positive");
+    if (n < MAX_CACHED_TERMS) return prefix((int) n + 1)[(int) n];
+    return fastDoubling(n)[0];
+  }
+
+  public static BigInteger termExact(long n) {
+    Number term = term(n);
+    return term instanceof BigInteger big ? big : BigInteger.valueOf(term.longValue());
+  }
+
+  /*
+   * Unmodifiable view over the shared prefix; nothing is copied when the prefix is cached.
+   */
+  public static List<Number> firstTerms(int limit) {
+    Preconditions.checkArgument(limit >= 0, "limit should be positive");
+    Number[] terms =
+        limit <= MAX_CACHED_TERMS ? prefix(limit) : extend(prefix(MAX_CACHED_TERMS), limit);
+    return Collections.unmodifiableList(Arrays.asList(terms).subList(0, limit));
+  }
+
+  /*
+   * The int typed variant only reaches F(46); asking for more would have to overflow.
+   */
+  public static List<Integer> firstIntTerms(long limit) {
+    Preconditions.checkArgument(limit >= 0, "limit should be positive");
+    if (limit > INT_TERMS) {
+      throw new ArithmeticException("integer overflow: only the first 47 terms fit in an int");
+    }
+    Number[] terms = prefix((int) limit);
+    Integer[] integers = new Integer[(int) limit];
+    for (int i = 0; i < limit; i++) {
+      integers[i] = (Integer) terms[i];
+    }
+    return List.of(integers);
+  }
+
+  private static Number[] prefix(int size) {
+    Number[] terms = prefix;
+    if (terms.length >= size) return terms;
+    synchronized (Fibonacci.class) {
+      terms = prefix;
+      if (terms.length < size) {
+        // Grow geometrically so that a run of slightly larger requests is not quadratic
+        terms = extend(terms, Math.min(MAX_CACHED_TERMS, Math.max(size, terms.length * 2)));
+        prefix = terms;
+      }
+      return terms;
+    }
+  }
+
+  private static Number[] extend(Number[] terms, int size) {
+    Number[] extended = Arrays.copyOf(terms, Math.max(size, terms.length));
+    for (int i = terms.length; i < extended.length; i++) {
+      extended[i] = add(extended[i - 2], extended[i - 1], i);
+    }
+    return extended;
+  }
+
+  private static Number add(Number first, Number second, int index) {
+    if (index < INT_TERMS) return first.intValue() + second.intValue();
+    if (index < LONG_TERMS) return first.longValue() + second.longValue();
+    return toBig(first).add(toBig(second));
+  }
+
+  private static BigInteger toBig(Number number) {
+    return number instanceof BigInteger big ? big : BigInteger.valueOf(number.longValue());
+  }
+
+  /*
+   * Returns {F(n), F(n + 1)} using F(2k) = F(k)(2F(k + 1) - F(k)) and
+   * F(2k + 1) = F(k)^2 + F(k + 1)^2, walking the bits of n from the top.
+   */
+  static BigInteger[] fastDoubling(long n) {
+    BigInteger a = BigInteger.ZERO;
+    BigInteger b = BigInteger.ONE;
+    for (int bit = 63 - Long.numberOfLeadingZeros(n); bit >= 0; bit--) {
+      BigInteger even = a.multiply(b.shiftLeft(1).subtract(a));
+      BigInteger odd = a.multiply(a).add(b.multiply(b));
+      if (((n >>> bit) & 1) == 0) {
+        a = even;
+        b = odd;
+      } else {
+        a = odd;
+        b = even.add(odd);
+      }
+    }
+    return new BigInteger[] {a, b};
+  }
+}
@@ -0,0 +1,459 @@
+package functional.streams.example;
+
+import com.google.common.base.Preconditions;
+import functional.utils.UTF8FileReaderUtility;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/*
+ * Flow based counterpart of reading a file into a List and running StreamsPractice over it:
+ * sentences are published from the file as they are read, and each stage only asks its upstream
+ * for as many elements as it has room for, so a pipeline holds at most bufferSize elements per
+ * stage whatever the size of the file, and counting starts with the first sentence.
+ *
+ * Publishers are cold: every subscriber reads the file again. Stages hand elements on in the
+ * thread that delivers them, so with the default synchronous executor the whole pipeline runs
+ * as one loop on the subscribing thread; give sentences an executor to read on another thread.
+ */
+public final class FlowPipeline {
+
+  public static final int DEFAULT_BUFFER_SIZE = Flow.defaultBufferSize();
+
+  private FlowPipeline() {}
+
+  public static Flow.Publisher<String> sentences(String directory, String fileName) {
+    return sentences(directory, fileName, Runnable::run);
+  }
+
+  /*
+   * Sentences are read and delivered on the executor, one task at a time.
+   */
+  public static Flow.Publisher<String> sentences(
+      String directory, String fileName, Executor executor) {
+    Objects.requireNonNull(directory, "directory must not be null");
+    Objects.requireNonNull(fileName, "fileName must not be null");
+    return fromStream(
+        () -> UTF8FileReaderUtility.streamFileContentsAsSentences(directory, fileName), executor);
+  }
+
+  /*
+   * Publishes the elements of a new stream per subscriber, closing it when the subscription ends.
+   */
+  public static <T> Flow.Publisher<T> fromStream(Supplier<Stream<T>> streams, Executor executor) {
+    Objects.requireNonNull(streams, "streams must not be null");
+    Objects.requireNonNull(executor, "executor must not be null");
+    return subscriber -> {
+      Objects.requireNonNull(subscriber, "subscriber must not be null");
+      subscriber.onSubscribe(new StreamSubscription<>(subscriber, streams, executor));
+    };
+  }
+
+  /*
+   * Whitespace separated words of every sentence, see WhitespaceTokenizer; empty tokens are
+   * dropped.
+   */
+  public static Flow.Publisher<String> tokens(Flow.Publisher<? extends CharSequence> sentences) {
+    return tokens(sentences, DEFAULT_BUFFER_SIZE);
+  }
+
+  public static Flow.Publisher<String> tokens(
+      Flow.Publisher<? extends CharSequence> sentences, int bufferSize) {
+    return flatMap(
+        sentences,
+        (sentence, sink) ->
+            WhitespaceTokenizer.tokenize(
+                sentence,
+                (text, start, end) -> {
+                  if (end > start) sink.accept(text.subSequence(start, end).toString());
+                }),
+        bufferSize);
+  }
+
+  /*
+   * Phone numbers found in every sentence, see PhoneNumberScanner.
+   */
+  public static Flow.Publisher<String> phoneNumbers(
+      Flow.Publisher<? extends CharSequence> sentences) {
+    return phoneNumbers(sentences, DEFAULT_BUFFER_SIZE);
+  }
+
+  public static Flow.Publisher<String> phoneNumbers(
+      Flow.Publisher<? extends CharSequence> sentences, int bufferSize) {
+    return flatMap(sentences, PhoneNumberScanner::scan, bufferSize);
+  }
+
+  /*
+   * Hands every upstream element to mapper with a sink for its outputs. Up to bufferSize
+   * upstream elements are requested ahead, and the outputs of one element at a time are held
+   * until downstream asks for them.
+   */
+  public static <T, R> Flow.Publisher<R> flatMap(
+      Flow.Publisher<? extends T> upstream,
+      BiConsumer<? super T, ? super Consumer<R>> mapper,
+      int bufferSize) {
+    Objects.requireNonNull(upstream, "upstream must not be null");
+    Objects.requireNonNull(mapper, "mapper must not be null");
+    Preconditions.checkArgument(bufferSize > 0, "bufferSize should be positive");
+    return subscriber -> {
+      Objects.requireNonNull(subscriber, "subscriber must not be null");
+      upstream.subscribe(new FlatMapSubscriber<>(subscriber, mapper, bufferSize));
+    };
+  }
+
+  public static CompletableFuture<WordFrequencyCounter> countWords(
+      Flow.Publisher<String> words) {
+    return countWords(words, DEFAULT_BUFFER_SIZE);
+  }
+
+  public static CompletableFuture<WordFrequencyCounter> countWords(
+      Flow.Publisher<String> words, int bufferSize) {
+    WordFrequencyCounter counter = new WordFrequencyCounter();
+    return forEach(words, counter::add, bufferSize).thenApply(done -> counter);
+  }
+
+  /*
+   * Counts the words of a file without holding more than a few buffers of it in memory.
+   */
+  public static CompletableFuture<WordFrequencyCounter> countWordsInFile(
+      String directory, String fileName) {
+    return countWords(tokens(sentences(directory, fileName)));
+  }
+
+  /*
+   * Calls action with every element, requesting bufferSize at a time. The future completes when
+   * the publisher does; cancelling it cancels the subscription.
+   */
+  public static <T> CompletableFuture<Void> forEach(
+      Flow.Publisher<T> publisher, Consumer<? super T> action, int bufferSize) {
+    Objects.requireNonNull(publisher, "publisher must not be null");
+    Objects.requireNonNull(action, "action must not be null");
+    Preconditions.checkArgument(bufferSize > 0, "bufferSize should be positive");
+    ForEachSubscriber<T> subscriber = new ForEachSubscriber<>(action, bufferSize);
+    publisher.subscribe(subscriber);
+    return subscriber.done;
+  }
+
+  // Number of elements to take from a full buffer before requesting more, as Reactor does
+  private static int replenishLimit(int bufferSize) {
+    return Math.max(1, bufferSize - (bufferSize >> 2));
+  }
+
+  private static long addCapped(AtomicLong requested, long n) {
+    return requested.getAndAccumulate(
+        n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+  }
+
+  /*
+   * Reads the stream only as far as it has been asked to. Signals are delivered by a drain loop
+   * that at most one executor task runs at a time; requests made while it runs are picked up by
+   * the running loop instead of starting another one.
+   */
+  private static final class StreamSubscription<T> implements Flow.Subscription, Runnable {
+
+    private final Flow.Subscriber<? super T> subscriber;
+    private final Supplier<Stream<T>> streams;
+    private final Executor executor;
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile boolean cancelled;
+    private volatile Throwable invalidRequest;
+    // Confined to the drain loop
+    private Stream<T> stream;
+    private Iterator<T> iterator;
+    private boolean terminated;
+
+    StreamSubscription(
+        Flow.Subscriber<? super T> subscriber, Supplier<Stream<T>> streams, Executor executor) {
+      this.subscriber = subscriber;
+      this.streams = streams;
+      this.executor = executor;
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        invalidRequest = new IllegalArgumentException("request should be positive, was " + n);
+      } else {
+        addCapped(requested, n);
+      }
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      drain();
+    }
+
+    private void drain() {
+      if (wip.getAndIncrement() == 0) executor.execute(this);
+    }
+
+    @Override
+    public void run() {
+      int missed = 1;
+      do {
+        if (!terminated) emit();
+        missed = wip.addAndGet(-missed);
+      } while (missed != 0);
+    }
+
+    private void emit() {
+      long demand = requested.get();
+      long emitted = 0;
+      try {
+        while (true) {
+          if (cancelled) {
+            terminate();
+            return;
+          }
+          if (invalidRequest != null) {
+            terminate();
+            subscriber.onError(invalidRequest);
+            return;
+          }
+          if (emitted == demand) break;
+          if (iterator == null) {
+            stream = streams.get();
+            iterator = stream.iterator();
+          }
+          if (!iterator.hasNext()) {
+            terminate();
+            subscriber.onComplete();
+            return;
+          }
+          subscriber.onNext(iterator.next());
+          emitted++;
+        }
+      } catch (RuntimeException e) {
+        terminate();
+        subscriber.onError(e);
+        return;
+      }
+      if (demand != Long.MAX_VALUE) requested.addAndGet(-emitted);
+    }
+
+    private void terminate() {
+      terminated = true;
+      if (stream != null) stream.close();
+      stream = null;
+      iterator = null;
+    }
+  }
+
+  private static final class FlatMapSubscriber<T, R>
+      implements Flow.Subscriber<T>, Flow.Subscription {
+
+    private final Flow.Subscriber<? super R> downstream;
+    private final BiConsumer<? super T, ? super Consumer<R>> mapper;
+    private final int bufferSize;
+    private final int limit;
+    private final Queue<T> queue;
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile Flow.Subscription upstream;
+    private volatile boolean done;
+    private volatile boolean cancelled;
+    private volatile Throwable error;
+    // Outputs of the current upstream element, confined to the drain loop
+    private final List<R> outputs = new ArrayList<>();
+    private final Consumer<R> sink = outputs::add;
+    private int outputIndex;
+    private int consumed;
+
+    FlatMapSubscriber(
+        Flow.Subscriber<? super R> downstream,
+        BiConsumer<? super T, ? super Consumer<R>> mapper,
+        int bufferSize) {
+      this.downstream = downstream;
+      this.mapper = mapper;
+      this.bufferSize = bufferSize;
+      this.limit = replenishLimit(bufferSize);
+      this.queue = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      if (upstream != null) {
+        subscription.cancel();
+        return;
+      }
+      upstream = subscription;
+      downstream.onSubscribe(this);
+      subscription.request(bufferSize);
+    }
+
+    @Override
+    public void onNext(T item) {
+      if (done) return;
+      if (item == null || !queue.offer(item)) {
+        upstream.cancel();
+        onError(
+            item == null
+                ? new NullPointerException("upstream published null")
+                : new IllegalStateException("upstream published more than was requested"));
+        return;
+      }
+      drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      if (done) return;
+      error = throwable;
+      done = true;
+      drain();
+    }
+
+    @Override
+    public void onComplete() {
+      done = true;
+      drain();
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        upstream.cancel();
+        onError(new IllegalArgumentException("request should be positive, was " + n));
+        return;
+      }
+      addCapped(requested, n);
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      if (cancelled) return;
+      cancelled = true;
+      upstream.cancel();
+      if (wip.getAndIncrement() == 0) clear();
+    }
+
+    private void drain() {
+      if (wip.getAndIncrement() != 0) return;
+      int missed = 1;
+      do {
+        long demand = requested.get();
+        long emitted = 0;
+        while (true) {
+          if (cancelled) {
+            clear();
+            return;
+          }
+          if (outputIndex < outputs.size()) {
+            if (emitted == demand) break;
+            downstream.onNext(outputs.get(outputIndex++));
+            emitted++;
+            continue;
+          }
+          boolean terminated = done;
+          T item = queue.poll();
+          if (item == null) {
+            if (terminated) {
+              cancelled = true;
+              clear();
+              Throwable e = error;
+              if (e == null) downstream.onComplete();
+              else downstream.onError(e);
+              return;
+            }
+            break;
+          }
+          outputs.clear();
+          outputIndex = 0;
+          try {
+            mapper.accept(item, sink);
+          } catch (RuntimeException e) {
+            cancelled = true;
+            upstream.cancel();
+            clear();
+            downstream.onError(e);
+            return;
+          }
+          if (++consumed == limit) {
+            consumed = 0;
+            upstream.request(limit);
+          }
+        }
+        if (emitted != 0 && demand != Long.MAX_VALUE) requested.addAndGet(-emitted);
+        missed = wip.addAndGet(-missed);
+      } while (missed != 0);
+    }
+
+    private void clear() {
+      queue.clear();
+      outputs.clear();
+      outputIndex = 0;
+    }
+  }
+
+  private static final class ForEachSubscriber<T> implements Flow.Subscriber<T> {
+
+    private final Consumer<? super T> action;
+    private final int bufferSize;
+    private final int limit;
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+    private Flow.Subscription subscription;
+    private int consumed;
+
+    ForEachSubscriber(Consumer<? super T> action, int bufferSize) {
+      this.action = action;
+      this.bufferSize = bufferSize;
+      this.limit = replenishLimit(bufferSize);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      if (this.subscription != null) {
+        subscription.cancel();
+        return;
+      }
+      this.subscription = subscription;
+      done.whenComplete(
+          (result, e) -> {
+            if (done.isCancelled()) subscription.cancel();
+          });
+      subscription.request(bufferSize);
+    }
+
+    @Override
+    public void onNext(T item) {
+      if (done.isDone()) return;
+      try {
+        action.accept(item);
+      } catch (RuntimeException e) {
+        subscription.cancel();
+        done.completeExceptionally(e);
+        return;
+      }
+      if (++consumed == limit) {
+        consumed = 0;
+        subscription.request(limit);
+      }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      done.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      done.complete(null);
+    }
+  }
+}
@@ -0,0 +1,176 @@
+package functional.streams.example;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.IntPredicate;
+
+/*
+ * Primitive counterparts of the int aggregations of StreamsPractice, for callers that already
+ * hold ints. Arrays go through the IntKernels, vectorised when available. Buffers are read
+ * between their position and limit without moving the position; heap buffers are read through
+ * their backing array, direct buffers (off-heap memory) through absolute gets.
+ */
+public final class IntAggregations {
+
+  private IntAggregations() {}
+
+  public static int sum(int[] integers) {
+    Objects.requireNonNull(integers, "integers must not be null");
+    return IntKernels.sum(integers);
+  }
+
+  public static int sum(IntBuffer integers) {
+    Objects.requireNonNull(integers, "integers must not be null");
+    int[] sum = {0};
+    forEachWhile(
+        integers,
+        value -> {
+          sum[0] += value;
+          return true;
+        });
+    return sum[0];
+  }
+
+  public static double average(int[] integers) {
+    Objects.requireNonNull(integers, "integers must not be null");
+    return average(IntBuffer.wrap(integers));
+  }
+
+  public static double average(IntBuffer integers) {
+    Objects.requireNonNull(integers, "integers must not be null");
+    return statistics(integers).getAverage();
+  }
+
+  public static int min(int[] integers) {
+    Objects.requireNonNull(integers, "integers must not be null");
+    return IntKernels.min(integers);
+  }
+
+  public static int min(IntBuffer integers) {
+    Objects.requireNonNull(integers, "integers must not be null");
+    if (!integers.hasRemaining()) throw new NoSuchElementException("No Min element found");
+    int[] min = {Integer.MAX_VALUE};
+    forEachWhile(
+        integers,
+        value -> {
+          min[0] = Math.min(min[0], value);
+          return true;
+        });
+    return min[0];
+  }
+
+  public static int max(int[] integers) {
+    Objects.requireNonNull(integers, "integers must not be null");
+    return IntKernels.max(integers);
+  }
+
+  public static int max(IntBuffer integers) {
+    Objects.requireNonNull(integers, "integers must not be null");
+    if (!integers.hasRemaining()) throw new NoSuchElementException("No Max element found");
+    int[] max = {Integer.MIN_VALUE};
+    forEachWhile(
+        integers,
+        value -> {
+          max[0] = Math.max(max[0], value);
+          return true;
+        });
+    return max[0];
+  }
+
+  /*
+   * Same unsigned remainder rule as the boxed version, so negative values are not multiples.
+   */
+  public static boolean allMultiplesOfFive(int[] integers) {
+    Objects.requireNonNull(integers, "integers must not be null");
+    return IntKernels.allMultiplesOfFive(integers);
+  }
+
+  public static boolean allMultiplesOfFive(IntBuffer integers) {
+    Objects.requireNonNull(integers, "integers must not be null");
+    return forEachWhile(integers, value -> Integer.remainderUnsigned(value, 5) == 0);
+  }
+
+  public static boolean anyOdd(int[] integers) {
+    Objects.requireNonNull(integers, "integers must not be null");
+    return IntKernels.anyOdd(integers);
+  }
+
+  public static boolean anyOdd(IntBuffer integers) {
+    Objects.requireNonNull(integers, "integers must not be null");
+    return !forEachWhile(integers, value -> (value & 1) == 0);
+  }
+
+  /*
+   * Count, sum, min, max and average in a single pass.
+   */
+  public static IntSummaryStatistics statistics(int[] integers) {
+    Objects.requireNonNull(integers, "integers must not be null");
+    return statistics(IntBuffer.wrap(integers));
+  }
+
+  public static IntSummaryStatistics statistics(IntBuffer integers) {
+    Objects.requireNonNull(integers, "integers must not be null");
+    IntSummaryStatistics statistics = new IntSummaryStatistics();
+    forEachWhile(
+        integers,
+        value -> {
+          statistics.accept(value);
+          return true;
+        });
+    return statistics;
+  }
+
+  /*
+   * Unboxes into a dense array, dropping nulls the way the stream based methods filter them.
+   */
+  public static int[] toIntArray(List<Integer> integers) {
+    int[] values = new int[integers.size()];
+    int size = 0;
+    for (Integer integer : integers) {
+      if (integer != null) values[size++] = integer;
+    }
+    return size == values.length ? values : Arrays.copyOf(values, size);
+  }
+
+  /*
+   * Unboxes every element; a null element fails with a NullPointerException.
+   */
+  public static int[] toIntArrayRejectingNulls(List<Integer> integers) {
+    int[] values = new int[integers.size()];
+    int size = 0;
+    for (Integer integer : integers) {
+      values[size++] = Objects.requireNonNull(integer);
+    }
+    return values;
+  }
+
+  /*
+   * Hands the values between position and limit to action until it returns false; returns
+   * whether every value was handed over.
+   */
+  private static boolean forEachWhile(IntBuffer integers, IntPredicate action) {
+    if (integers.hasArray()) {
+      int[] array = integers.array();
+      for (int i = start(integers), end = end(integers); i < end; i++) {
+        if (!action.test(array[i])) return false;
+      }
+    } else {
+      for (int i = integers.position(), end = integers.limit(); i < end; i++) {
+        if (!action.test(integers.get(i))) return false;
+      }
+    }
+    return true;
+  }
+
+  private static int start(IntBuffer integers) {
+    return integers.arrayOffset() + integers.position();
+  }
+
+  private static int end(IntBuffer integers) {
+    return integers.arrayOffset() + integers.limit();
+  }
+}
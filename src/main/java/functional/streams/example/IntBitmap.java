@@ -0,0 +1,1030 @@
+package functional.streams.example;
+
+import com.google.common.base.Preconditions;
+import io.vavr.control.Try;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/*
+ * Compressed set of ints in the style of Roaring bitmaps. Values are split on their high 16 bits
+ * into chunks and every chunk keeps its low 16 bits in a container: a sorted array while the chunk
+ * is sparse, a 65536 bit bitmap once it is dense and, after runOptimize, a list of runs when that
+ * is smaller. Set operations combine the bitmaps chunk by chunk without boxing. The sign bit is
+ * flipped in the chunk keys so that iteration is in ascending signed order.
+ *
+ * A serialised bitmap can be mapped back from disk; the mapped bitmap decodes a chunk when it is
+ * first read and copies every chunk onto the heap before its first modification. Like the
+ * java.util collections, it is not thread safe.
+ */
+public final class IntBitmap {
+
+  static final int ARRAY_MAX_CARDINALITY = 4096;
+
+  // Serialised layout, little endian: magic, chunk count, one descriptor per chunk (key, container
+  // type, cardinality, offset of the container data) and then the container data
+  private static final int MAGIC = 0x49424D31;
+  private static final int HEADER_BYTES = 8;
+  private static final int DESCRIPTOR_BYTES = 12;
+  private static final short ARRAY = 0;
+  private static final short BITMAP = 1;
+  private static final short RUN = 2;
+
+  private char[] keys;
+  private Container[] containers;
+  private int size;
+  private ByteBuffer source;
+
+  public IntBitmap() {
+    this(new char[4], new Container[4], 0, null);
+  }
+
+  private IntBitmap(char[] keys, Container[] containers, int size, ByteBuffer source) {
+    this.keys = keys;
+    this.containers = containers;
+    this.size = size;
+    this.source = source;
+  }
+
+  public static IntBitmap of(int... values) {
+    Objects.requireNonNull(values, "values must not be null");
+    int[] sorted = values.clone();
+    Arrays.sort(sorted);
+    return fromSorted(sorted);
+  }
+
+  /*
+   * Null elements are skipped.
+   */
+  public static IntBitmap of(List<Integer> values) {
+    Objects.requireNonNull(values, "values must not be null");
+    int[] sorted = IntAggregations.toIntArray(values);
+    Arrays.sort(sorted);
+    return fromSorted(sorted);
+  }
+
+  private static IntBitmap fromSorted(int[] sorted) {
+    IntBitmap bitmap = new IntBitmap();
+    int from = 0;
+    while (from < sorted.length) {
+      char key = highBits(sorted[from]);
+      int to = from + 1;
+      while (to < sorted.length && highBits(sorted[to]) == key) to++;
+      bitmap.append(key, containerOf(sorted, from, to));
+      from = to;
+    }
+    return bitmap;
+  }
+
+  private static Container containerOf(int[] sorted, int from, int to) {
+    int distinct = 0;
+    for (int i = from; i < to; i++) {
+      if (i == from || sorted[i] != sorted[i - 1]) distinct++;
+    }
+    if (distinct > ARRAY_MAX_CARDINALITY) {
+      BitmapContainer bitmap = new BitmapContainer();
+      for (int i = from; i < to; i++) {
+        bitmap.add((char) sorted[i]);
+      }
+      return bitmap;
+    }
+    char[] values = new char[distinct];
+    int cardinality = 0;
+    for (int i = from; i < to; i++) {
+      if (i == from || sorted[i] != sorted[i - 1]) values[cardinality++] = (char) sorted[i];
+    }
+    return new ArrayContainer(values, cardinality);
+  }
+
+  public void add(int value) {
+    materialize();
+    char key = highBits(value);
+    int index = indexOf(key);
+    if (index >= 0) {
+      containers[index] = containers[index].add((char) value);
+    } else {
+      insert(-index - 1, key, new ArrayContainer(new char[] {(char) value}, 1));
+    }
+  }
+
+  /*
+   * Adds every value in [from, to).
+   */
+  public void addRange(int from, int to) {
+    Preconditions.checkArgument(from <= to, "to must not be less than from");
+    materialize();
+    long start = from;
+    while (start < to) {
+      long chunkStart = start & ~0xFFFFL;
+      long end = Math.min(to, chunkStart + 0x10000);
+      RunContainer range = RunContainer.range((int) (start - chunkStart), (int) (end - chunkStart));
+      char key = highBits((int) start);
+      int index = indexOf(key);
+      if (index >= 0) {
+        containers[index] = or(containers[index], range);
+      } else {
+        insert(-index - 1, key, range);
+      }
+      start = end;
+    }
+  }
+
+  public boolean contains(int value) {
+    int index = indexOf(highBits(value));
+    return index >= 0 && container(index).contains((char) value);
+  }
+
+  public long cardinality() {
+    long cardinality = 0;
+    for (int i = 0; i < size; i++) {
+      cardinality += cardinalityAt(i);
+    }
+    return cardinality;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public void forEach(IntConsumer action) {
+    Objects.requireNonNull(action, "action must not be null");
+    for (int i = 0; i < size; i++) {
+      int high = keys[i] << 16;
+      container(i).forEachLow(low -> action.accept(value(high, low)));
+    }
+  }
+
+  public int[] toArray() {
+    long cardinality = cardinality();
+    if (cardinality > Integer.MAX_VALUE - 8) {
+      throw new ArithmeticException("integer overflow: too many values for an int array");
+    }
+    int[] values = new int[(int) cardinality];
+    int offset = 0;
+    for (int i = 0; i < size; i++) {
+      offset = container(i).fill(keys[i] << 16, values, offset);
+    }
+    return values;
+  }
+
+  /*
+   * Re-encodes every chunk with whichever container is smallest, turning ranges into runs.
+   */
+  public void runOptimize() {
+    materialize();
+    for (int i = 0; i < size; i++) {
+      containers[i] = containers[i].runOptimize();
+    }
+  }
+
+  public static IntBitmap or(IntBitmap first, IntBitmap second) {
+    Objects.requireNonNull(first, "first must not be null");
+    Objects.requireNonNull(second, "second must not be null");
+    IntBitmap result = new IntBitmap();
+    int i = 0;
+    int j = 0;
+    while (i < first.size && j < second.size) {
+      char key = first.keys[i];
+      char otherKey = second.keys[j];
+      if (key < otherKey) {
+        result.append(key, first.container(i++).copy());
+      } else if (key > otherKey) {
+        result.append(otherKey, second.container(j++).copy());
+      } else {
+        result.append(key, or(first.container(i++), second.container(j++)));
+      }
+    }
+    for (; i < first.size; i++) {
+      result.append(first.keys[i], first.container(i).copy());
+    }
+    for (; j < second.size; j++) {
+      result.append(second.keys[j], second.container(j).copy());
+    }
+    return result;
+  }
+
+  public static IntBitmap and(IntBitmap first, IntBitmap second) {
+    Objects.requireNonNull(first, "first must not be null");
+    Objects.requireNonNull(second, "second must not be null");
+    IntBitmap result = new IntBitmap();
+    int i = 0;
+    int j = 0;
+    while (i < first.size && j < second.size) {
+      char key = first.keys[i];
+      char otherKey = second.keys[j];
+      if (key < otherKey) {
+        i++;
+      } else if (key > otherKey) {
+        j++;
+      } else {
+        result.appendNonEmpty(key, and(first.container(i++), second.container(j++)));
+      }
+    }
+    return result;
+  }
+
+  /*
+   * Values of first that are not in second.
+   */
+  public static IntBitmap andNot(IntBitmap first, IntBitmap second) {
+    Objects.requireNonNull(first, "first must not be null");
+    Objects.requireNonNull(second, "second must not be null");
+    IntBitmap result = new IntBitmap();
+    int j = 0;
+    for (int i = 0; i < first.size; i++) {
+      char key = first.keys[i];
+      while (j < second.size && second.keys[j] < key) j++;
+      if (j < second.size && second.keys[j] == key) {
+        result.appendNonEmpty(key, andNot(first.container(i), second.container(j)));
+      } else {
+        result.append(key, first.container(i).copy());
+      }
+    }
+    return result;
+  }
+
+  public int serializedSizeInBytes() {
+    int bytes = HEADER_BYTES + size * DESCRIPTOR_BYTES;
+    for (int i = 0; i < size; i++) {
+      bytes += container(i).serializedSizeInBytes();
+    }
+    return bytes;
+  }
+
+  /*
+   * Writes serializedSizeInBytes() bytes at the position of the buffer and moves the position
+   * past them.
+   */
+  public void serialize(ByteBuffer buffer) {
+    Objects.requireNonNull(buffer, "buffer must not be null");
+    ByteBuffer out = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+    out.putInt(MAGIC).putInt(size);
+    int offset = HEADER_BYTES + size * DESCRIPTOR_BYTES;
+    for (int i = 0; i < size; i++) {
+      Container container = container(i);
+      out.putChar(keys[i]).putShort(container.type()).putInt(container.cardinality());
+      out.putInt(offset);
+      offset += container.serializedSizeInBytes();
+    }
+    for (int i = 0; i < size; i++) {
+      container(i).writeTo(out);
+    }
+    buffer.position(buffer.position() + out.position());
+  }
+
+  /*
+   * Reads a serialised bitmap from the position of the buffer without copying it; chunks are
+   * decoded as they are read, so the buffer must not change while the bitmap is in use.
+   */
+  public static IntBitmap deserialize(ByteBuffer buffer) {
+    Objects.requireNonNull(buffer, "buffer must not be null");
+    ByteBuffer source = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+    Preconditions.checkArgument(
+        source.remaining() >= HEADER_BYTES && source.getInt(0) == MAGIC,
+        "buffer does not hold a serialised IntBitmap");
+    int size = source.getInt(4);
+    Preconditions.checkArgument(
+        size >= 0
+            && size <= 0x10000
+            && source.remaining() >= HEADER_BYTES + size * DESCRIPTOR_BYTES,
+        "buffer does not hold a serialised IntBitmap");
+    char[] keys = new char[Math.max(size, 4)];
+    for (int i = 0; i < size; i++) {
+      keys[i] = source.getChar(HEADER_BYTES + i * DESCRIPTOR_BYTES);
+    }
+    return new IntBitmap(keys, new Container[keys.length], size, source);
+  }
+
+  public Try<Path> writeTo(Path path) {
+    Objects.requireNonNull(path, "path must not be null");
+    return Try.withResources(
+            () ->
+                FileChannel.open(
+                    path,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE))
+        .of(
+            channel -> {
+              ByteBuffer bytes = ByteBuffer.allocate(serializedSizeInBytes());
+              serialize(bytes);
+              bytes.flip();
+              while (bytes.hasRemaining()) {
+                channel.write(bytes);
+              }
+              return path;
+            });
+  }
+
+  /*
+   * Maps a file written by writeTo read only; the mapping outlives the channel and is released
+   * with the bitmap.
+   */
+  public static Try<IntBitmap> map(Path path) {
+    Objects.requireNonNull(path, "path must not be null");
+    return Try.withResources(() -> FileChannel.open(path, StandardOpenOption.READ))
+        .of(channel -> deserialize(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())));
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) return true;
+    if (!(other instanceof IntBitmap bitmap) || size != bitmap.size) return false;
+    if (!Arrays.equals(keys, 0, size, bitmap.keys, 0, size)) return false;
+    for (int i = 0; i < size; i++) {
+      int cardinality = cardinalityAt(i);
+      if (cardinality != bitmap.cardinalityAt(i)
+          || and(container(i), bitmap.container(i)).cardinality() != cardinality) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int[] hash = {1};
+    forEach(value -> hash[0] = 31 * hash[0] + value);
+    return hash[0];
+  }
+
+  @Override
+  public String toString() {
+    return "IntBitmap{cardinality=" + cardinality() + ", chunks=" + size + "}";
+  }
+
+  private static char highBits(int value) {
+    return (char) ((value ^ Integer.MIN_VALUE) >>> 16);
+  }
+
+  private static int value(int high, int low) {
+    return (high | low) ^ Integer.MIN_VALUE;
+  }
+
+  private int indexOf(char key) {
+    // Appending in key order is the common case when building
+    if (size > 0 && keys[size - 1] < key) return -size - 1;
+    return Arrays.binarySearch(keys, 0, size, key);
+  }
+
+  private void append(char key, Container container) {
+    insert(size, key, container);
+  }
+
+  private void appendNonEmpty(char key, Container container) {
+    if (container.cardinality() > 0) append(key, container);
+  }
+
+  private void insert(int index, char key, Container container) {
+    if (size == keys.length) {
+      keys = Arrays.copyOf(keys, size * 2);
+      containers = Arrays.copyOf(containers, size * 2);
+    }
+    System.arraycopy(keys, index, keys, index + 1, size - index);
+    System.arraycopy(containers, index, containers, index + 1, size - index);
+    keys[index] = key;
+    containers[index] = container;
+    size++;
+  }
+
+  private int cardinalityAt(int index) {
+    Container container = containers[index];
+    if (container != null) return container.cardinality();
+    return source.getInt(HEADER_BYTES + index * DESCRIPTOR_BYTES + 4);
+  }
+
+  private Container container(int index) {
+    Container container = containers[index];
+    if (container == null) {
+      container = decode(index);
+      containers[index] = container;
+    }
+    return container;
+  }
+
+  private void materialize() {
+    if (source == null) return;
+    for (int i = 0; i < size; i++) {
+      container(i);
+    }
+    source = null;
+  }
+
+  private Container decode(int index) {
+    int descriptor = HEADER_BYTES + index * DESCRIPTOR_BYTES;
+    short type = source.getShort(descriptor + 2);
+    int cardinality = source.getInt(descriptor + 4);
+    int offset = source.getInt(descriptor + 8);
+    switch (type) {
+      case ARRAY:
+        char[] values = new char[cardinality];
+        slice(offset, cardinality * 2).asCharBuffer().get(values);
+        return new ArrayContainer(values, cardinality);
+      case BITMAP:
+        long[] words = new long[BitmapContainer.WORDS];
+        slice(offset, BitmapContainer.BYTES).asLongBuffer().get(words);
+        return new BitmapContainer(words, cardinality);
+      case RUN:
+        int runCount = source.getInt(offset);
+        char[] runs = new char[runCount * 2];
+        slice(offset + Integer.BYTES, runCount * 4).asCharBuffer().get(runs);
+        return new RunContainer(runs, runCount);
+      default:
+        throw new IllegalArgumentException("unknown container type " + type);
+    }
+  }
+
+  private ByteBuffer slice(int offset, int length) {
+    return source.slice(offset, length).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  private static Container or(Container first, Container second) {
+    if (first instanceof ArrayContainer array && second instanceof ArrayContainer other) {
+      return array.or(other);
+    }
+    if (first instanceof RunContainer runs && second instanceof RunContainer other) {
+      return runs.or(other);
+    }
+    return first.toBitmap().or(second).normalize();
+  }
+
+  private static Container and(Container first, Container second) {
+    if (first instanceof RunContainer runs && second instanceof RunContainer other) {
+      return runs.and(other);
+    }
+    if (first instanceof ArrayContainer array) {
+      return second instanceof ArrayContainer other ? array.and(other) : array.filter(second, true);
+    }
+    if (second instanceof ArrayContainer array) return array.filter(first, true);
+    return first.toBitmap().and(second).normalize();
+  }
+
+  private static Container andNot(Container first, Container second) {
+    if (first instanceof RunContainer runs && second instanceof RunContainer other) {
+      return runs.andNot(other);
+    }
+    if (first instanceof ArrayContainer array) return array.filter(second, false);
+    return first.toBitmap().andNot(second).normalize();
+  }
+
+  /*
+   * The low 16 bits of the values of one chunk. Operations that may change the representation
+   * return the container to keep, which is not always this one.
+   */
+  private abstract static class Container {
+
+    abstract short type();
+
+    abstract int cardinality();
+
+    abstract boolean contains(char value);
+
+    abstract Container add(char value);
+
+    abstract void forEachLow(IntConsumer action);
+
+    abstract int fill(int high, int[] values, int offset);
+
+    // Always a new bitmap, so the caller may modify it
+    abstract BitmapContainer toBitmap();
+
+    abstract Container copy();
+
+    abstract int numberOfRuns();
+
+    abstract int serializedSizeInBytes();
+
+    abstract void writeTo(ByteBuffer buffer);
+
+    Container runOptimize() {
+      int runs = numberOfRuns();
+      int cardinality = cardinality();
+      int denseBytes =
+          cardinality <= ARRAY_MAX_CARDINALITY ? cardinality * 2 : BitmapContainer.BYTES;
+      if (RunContainer.serializedSizeInBytes(runs) < denseBytes) {
+        return this instanceof RunContainer ? this : RunContainer.of(this, runs);
+      }
+      return this instanceof RunContainer ? toBitmap().normalize() : this;
+    }
+  }
+
+  private static final class ArrayContainer extends Container {
+
+    private char[] values;
+    private int cardinality;
+
+    ArrayContainer(char[] values, int cardinality) {
+      this.values = values;
+      this.cardinality = cardinality;
+    }
+
+    @Override
+    short type() {
+      return ARRAY;
+    }
+
+    @Override
+    int cardinality() {
+      return cardinality;
+    }
+
+    @Override
+    boolean contains(char value) {
+      return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+    }
+
+    @Override
+    Container add(char value) {
+      int index = Arrays.binarySearch(values, 0, cardinality, value);
+      if (index >= 0) return this;
+      if (cardinality == ARRAY_MAX_CARDINALITY) return toBitmap().add(value);
+      index = -index - 1;
+      if (cardinality == values.length) {
+        int capacity = Math.min(ARRAY_MAX_CARDINALITY, Math.max(4, cardinality * 2));
+        values = Arrays.copyOf(values, capacity);
+      }
+      System.arraycopy(values, index, values, index + 1, cardinality - index);
+      values[index] = value;
+      cardinality++;
+      return this;
+    }
+
+    @Override
+    void forEachLow(IntConsumer action) {
+      for (int i = 0; i < cardinality; i++) {
+        action.accept(values[i]);
+      }
+    }
+
+    @Override
+    int fill(int high, int[] values, int offset) {
+      for (int i = 0; i < cardinality; i++) {
+        values[offset++] = value(high, this.values[i]);
+      }
+      return offset;
+    }
+
+    @Override
+    BitmapContainer toBitmap() {
+      BitmapContainer bitmap = new BitmapContainer();
+      for (int i = 0; i < cardinality; i++) {
+        bitmap.add(values[i]);
+      }
+      return bitmap;
+    }
+
+    @Override
+    Container copy() {
+      return new ArrayContainer(Arrays.copyOf(values, cardinality), cardinality);
+    }
+
+    @Override
+    int numberOfRuns() {
+      int runs = 0;
+      for (int i = 0; i < cardinality; i++) {
+        if (i == 0 || values[i] != values[i - 1] + 1) runs++;
+      }
+      return runs;
+    }
+
+    @Override
+    int serializedSizeInBytes() {
+      return cardinality * 2;
+    }
+
+    @Override
+    void writeTo(ByteBuffer buffer) {
+      buffer.asCharBuffer().put(values, 0, cardinality);
+      buffer.position(buffer.position() + cardinality * 2);
+    }
+
+    Container or(ArrayContainer other) {
+      if (cardinality + other.cardinality > ARRAY_MAX_CARDINALITY) {
+        return toBitmap().or(other).normalize();
+      }
+      char[] merged = new char[cardinality + other.cardinality];
+      int i = 0;
+      int j = 0;
+      int count = 0;
+      while (i < cardinality && j < other.cardinality) {
+        char value = values[i];
+        char otherValue = other.values[j];
+        if (value <= otherValue) i++;
+        if (otherValue <= value) j++;
+        merged[count++] = value <= otherValue ? value : otherValue;
+      }
+      while (i < cardinality) merged[count++] = values[i++];
+      while (j < other.cardinality) merged[count++] = other.values[j++];
+      return new ArrayContainer(merged, count);
+    }
+
+    ArrayContainer and(ArrayContainer other) {
+      char[] common = new char[Math.min(cardinality, other.cardinality)];
+      int i = 0;
+      int j = 0;
+      int count = 0;
+      while (i < cardinality && j < other.cardinality) {
+        char value = values[i];
+        char otherValue = other.values[j];
+        if (value < otherValue) {
+          i++;
+        } else if (value > otherValue) {
+          j++;
+        } else {
+          common[count++] = value;
+          i++;
+          j++;
+        }
+      }
+      return new ArrayContainer(common, count);
+    }
+
+    // The values that are (keep) or are not (!keep) in the other container
+    ArrayContainer filter(Container other, boolean keep) {
+      char[] kept = new char[cardinality];
+      int count = 0;
+      for (int i = 0; i < cardinality; i++) {
+        if (other.contains(values[i]) == keep) kept[count++] = values[i];
+      }
+      return new ArrayContainer(kept, count);
+    }
+  }
+
+  private static final class BitmapContainer extends Container {
+
+    static final int WORDS = 1024;
+    static final int BYTES = WORDS * Long.BYTES;
+
+    private final long[] words;
+    private int cardinality;
+
+    BitmapContainer() {
+      this(new long[WORDS], 0);
+    }
+
+    BitmapContainer(long[] words, int cardinality) {
+      this.words = words;
+      this.cardinality = cardinality;
+    }
+
+    @Override
+    short type() {
+      return BITMAP;
+    }
+
+    @Override
+    int cardinality() {
+      return cardinality;
+    }
+
+    @Override
+    boolean contains(char value) {
+      return (words[value >>> 6] & (1L << value)) != 0;
+    }
+
+    @Override
+    BitmapContainer add(char value) {
+      long word = words[value >>> 6];
+      long updated = word | (1L << value);
+      if (word != updated) {
+        words[value >>> 6] = updated;
+        cardinality++;
+      }
+      return this;
+    }
+
+    @Override
+    void forEachLow(IntConsumer action) {
+      for (int i = 0; i < WORDS; i++) {
+        for (long word = words[i]; word != 0; word &= word - 1) {
+          action.accept(i << 6 | Long.numberOfTrailingZeros(word));
+        }
+      }
+    }
+
+    @Override
+    int fill(int high, int[] values, int offset) {
+      for (int i = 0; i < WORDS; i++) {
+        for (long word = words[i]; word != 0; word &= word - 1) {
+          values[offset++] = value(high, i << 6 | Long.numberOfTrailingZeros(word));
+        }
+      }
+      return offset;
+    }
+
+    @Override
+    BitmapContainer toBitmap() {
+      return new BitmapContainer(words.clone(), cardinality);
+    }
+
+    @Override
+    Container copy() {
+      return toBitmap();
+    }
+
+    @Override
+    int numberOfRuns() {
+      int runs = 0;
+      long previous = 0;
+      for (long word : words) {
+        // A run starts at every set bit whose lower neighbour is clear
+        runs += Long.bitCount(word & ~((word << 1) | (previous >>> 63)));
+        previous = word;
+      }
+      return runs;
+    }
+
+    @Override
+    int serializedSizeInBytes() {
+      return BYTES;
+    }
+
+    @Override
+    void writeTo(ByteBuffer buffer) {
+      buffer.asLongBuffer().put(words);
+      buffer.position(buffer.position() + BYTES);
+    }
+
+    BitmapContainer or(Container other) {
+      if (other instanceof BitmapContainer bitmap) {
+        for (int i = 0; i < WORDS; i++) {
+          words[i] |= bitmap.words[i];
+        }
+      } else if (other instanceof RunContainer runs) {
+        for (int i = 0; i < runs.runCount; i++) {
+          setRange(runs.start(i), runs.end(i) + 1, true);
+        }
+      } else {
+        other.forEachLow(low -> words[low >>> 6] |= 1L << low);
+      }
+      return recount();
+    }
+
+    BitmapContainer and(Container other) {
+      long[] otherWords =
+          other instanceof BitmapContainer bitmap ? bitmap.words : other.toBitmap().words;
+      for (int i = 0; i < WORDS; i++) {
+        words[i] &= otherWords[i];
+      }
+      return recount();
+    }
+
+    BitmapContainer andNot(Container other) {
+      if (other instanceof BitmapContainer bitmap) {
+        for (int i = 0; i < WORDS; i++) {
+          words[i] &= ~bitmap.words[i];
+        }
+      } else if (other instanceof RunContainer runs) {
+        for (int i = 0; i < runs.runCount; i++) {
+          setRange(runs.start(i), runs.end(i) + 1, false);
+        }
+      } else {
+        other.forEachLow(low -> words[low >>> 6] &= ~(1L << low));
+      }
+      return recount();
+    }
+
+    // Sets or clears [from, to); the cardinality is left to recount
+    void setRange(int from, int to, boolean set) {
+      if (from >= to) return;
+      int first = from >>> 6;
+      int last = (to - 1) >>> 6;
+      long firstMask = -1L << from;
+      long lastMask = -1L >>> -to;
+      for (int i = first; i <= last; i++) {
+        long mask = (i == first ? firstMask : -1L) & (i == last ? lastMask : -1L);
+        words[i] = set ? words[i] | mask : words[i] & ~mask;
+      }
+    }
+
+    BitmapContainer recount() {
+      int count = 0;
+      for (long word : words) {
+        count += Long.bitCount(word);
+      }
+      cardinality = count;
+      return this;
+    }
+
+    Container normalize() {
+      if (cardinality > ARRAY_MAX_CARDINALITY) return this;
+      char[] values = new char[cardinality];
+      int count = 0;
+      for (int i = 0; i < WORDS; i++) {
+        for (long word = words[i]; word != 0; word &= word - 1) {
+          values[count++] = (char) (i << 6 | Long.numberOfTrailingZeros(word));
+        }
+      }
+      return new ArrayContainer(values, count);
+    }
+  }
+
+  private static final class RunContainer extends Container {
+
+    // (start, length - 1) pairs of disjoint, non adjacent runs in ascending order
+    private final char[] runs;
+    private final int runCount;
+    private final int cardinality;
+
+    RunContainer(char[] runs, int runCount) {
+      this.runs = runs;
+      this.runCount = runCount;
+      int count = 0;
+      for (int i = 0; i < runCount; i++) {
+        count += runs[2 * i + 1] + 1;
+      }
+      this.cardinality = count;
+    }
+
+    // [from, to) with from < to <= 65536
+    static RunContainer range(int from, int to) {
+      return new RunContainer(new char[] {(char) from, (char) (to - 1 - from)}, 1);
+    }
+
+    static RunContainer of(Container container, int runCount) {
+      RunBuilder builder = new RunBuilder(runCount);
+      container.forEachLow(low -> builder.append(low, low));
+      return builder.build();
+    }
+
+    static int serializedSizeInBytes(int runCount) {
+      return Integer.BYTES + runCount * 2 * Character.BYTES;
+    }
+
+    int start(int index) {
+      return runs[2 * index];
+    }
+
+    int end(int index) {
+      return runs[2 * index] + runs[2 * index + 1];
+    }
+
+    @Override
+    short type() {
+      return RUN;
+    }
+
+    @Override
+    int cardinality() {
+      return cardinality;
+    }
+
+    @Override
+    boolean contains(char value) {
+      int low = 0;
+      int high = runCount - 1;
+      while (low <= high) {
+        int middle = (low + high) >>> 1;
+        if (start(middle) <= value) {
+          low = middle + 1;
+        } else {
+          high = middle - 1;
+        }
+      }
+      return high >= 0 && value <= end(high);
+    }
+
+    @Override
+    Container add(char value) {
+      return contains(value) ? this : or(range(value, value + 1));
+    }
+
+    @Override
+    void forEachLow(IntConsumer action) {
+      for (int i = 0; i < runCount; i++) {
+        for (int value = start(i), end = end(i); value <= end; value++) {
+          action.accept(value);
+        }
+      }
+    }
+
+    @Override
+    int fill(int high, int[] values, int offset) {
+      for (int i = 0; i < runCount; i++) {
+        for (int value = start(i), end = end(i); value <= end; value++) {
+          values[offset++] = value(high, value);
+        }
+      }
+      return offset;
+    }
+
+    @Override
+    BitmapContainer toBitmap() {
+      BitmapContainer bitmap = new BitmapContainer();
+      for (int i = 0; i < runCount; i++) {
+        bitmap.setRange(start(i), end(i) + 1, true);
+      }
+      bitmap.cardinality = cardinality;
+      return bitmap;
+    }
+
+    @Override
+    Container copy() {
+      // Runs are never modified in place
+      return this;
+    }
+
+    @Override
+    int numberOfRuns() {
+      return runCount;
+    }
+
+    @Override
+    int serializedSizeInBytes() {
+      return serializedSizeInBytes(runCount);
+    }
+
+    @Override
+    void writeTo(ByteBuffer buffer) {
+      buffer.putInt(runCount);
+      buffer.asCharBuffer().put(runs, 0, runCount * 2);
+      buffer.position(buffer.position() + runCount * 2 * Character.BYTES);
+    }
+
+    RunContainer or(RunContainer other) {
+      RunBuilder builder = new RunBuilder(runCount + other.runCount);
+      int i = 0;
+      int j = 0;
+      while (i < runCount || j < other.runCount) {
+        if (j == other.runCount || (i < runCount && start(i) <= other.start(j))) {
+          builder.append(start(i), end(i++));
+        } else {
+          builder.append(other.start(j), other.end(j++));
+        }
+      }
+      return builder.build();
+    }
+
+    RunContainer and(RunContainer other) {
+      RunBuilder builder = new RunBuilder(runCount + other.runCount);
+      int i = 0;
+      int j = 0;
+      while (i < runCount && j < other.runCount) {
+        int start = Math.max(start(i), other.start(j));
+        int end = Math.min(end(i), other.end(j));
+        if (start <= end) builder.append(start, end);
+        if (end(i) < other.end(j)) {
+          i++;
+        } else {
+          j++;
+        }
+      }
+      return builder.build();
+    }
+
+    RunContainer andNot(RunContainer other) {
+      RunBuilder builder = new RunBuilder(runCount + other.runCount);
+      int j = 0;
+      for (int i = 0; i < runCount; i++) {
+        int current = start(i);
+        int end = end(i);
+        while (j < other.runCount && other.end(j) < current) j++;
+        for (int k = j; k < other.runCount && other.start(k) <= end && current <= end; k++) {
+          if (other.start(k) > current) builder.append(current, other.start(k) - 1);
+          current = Math.max(current, other.end(k) + 1);
+        }
+        if (current <= end) builder.append(current, end);
+      }
+      return builder.build();
+    }
+  }
+
+  /*
+   * Collects runs appended in ascending order of their start, merging overlapping and adjacent
+   * ones.
+   */
+  private static final class RunBuilder {
+
+    private char[] runs;
+    private int runCount;
+
+    RunBuilder(int expectedRuns) {
+      this.runs = new char[Math.max(2, expectedRuns * 2)];
+    }
+
+    void append(int start, int end) {
+      if (runCount > 0) {
+        int lastStart = runs[2 * runCount - 2];
+        int lastEnd = lastStart + runs[2 * runCount - 1];
+        if (start <= lastEnd + 1) {
+          runs[2 * runCount - 1] = (char) (Math.max(end, lastEnd) - lastStart);
+          return;
+        }
+      }
+      if (2 * runCount == runs.length) runs = Arrays.copyOf(runs, runs.length * 2);
+      runs[2 * runCount] = (char) start;
+      runs[2 * runCount + 1] = (char) (end - start);
+      runCount++;
+    }
+
+    RunContainer build() {
+      return new RunContainer(runs, runCount);
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package functional.streams.example;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/*
+ * Array kernels that run on the JDK Vector API when jdk.incubator.vector is in the boot layer
+ * and fall back to plain scalar loops otherwise.
+ */
+public final class IntKernels {
+
+  static final int INVERSE_OF_FIVE = 0xCCCCCCCD;
+  static final int MULTIPLE_OF_FIVE_LIMIT = 0x33333333;
+
+  private static final boolean VECTORIZED =
+      ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+  private IntKernels() {}
+
+  public static boolean isVectorized() {
+    return VECTORIZED;
+  }
+
+  public static int sum(int[] integers) {
+    Objects.requireNonNull(integers, "integers must not be null");
+    return VECTORIZED ? VectorIntKernels.sum(integers) : scalarSum(integers);
+  }
+
+  public static int min(int[] integers) {
+    Objects.requireNonNull(integers, "integers must not be null");
+    if (integers.length == 0) throw new NoSuchElementException("No Min element found");
+    return VECTORIZED ? VectorIntKernels.min(integers) : scalarMin(integers);
+  }
+
+  public static int max(int[] integers) {
+    Objects.requireNonNull(integers, "integers must not be null");
+    if (integers.length == 0) throw new NoSuchElementException("No Max element found");
+    return VECTORIZED ? VectorIntKernels.max(integers) : scalarMax(integers);
+  }
+
+  public static boolean allMultiplesOfFive(int[] integers) {
+    Objects.requireNonNull(integers, "integers must not be null");
+    return VECTORIZED
+        ? VectorIntKernels.allMultiplesOfFive(integers)
+        : scalarAllMultiplesOfFive(integers);
+  }
+
+  public static boolean anyOdd(int[] integers) {
+    Objects.requireNonNull(integers, "integers must not be null");
+    return VECTORIZED ? VectorIntKernels.anyOdd(integers) : scalarAnyOdd(integers);
+  }
+
+  public static int[] doubleElements(int[] integers) {
+    return multiply(integers, 2);
+  }
+
+  public static int[] multiply(int[] integers, int multiple) {
+    Objects.requireNonNull(integers, "integers must not be null");
+    return VECTORIZED
+        ? VectorIntKernels.multiply(integers, multiple)
+        : scalarMultiply(integers, multiple);
+  }
+
+  /*
+   * Integer.remainderUnsigned(value, 5) == 0 without a division: multiplying by the inverse of 5
+   * modulo 2^32 maps exactly the multiples of 5 onto [0, (2^32 - 1) / 5].
+   */
+  static boolean isMultipleOfFive(int value) {
+    return Integer.compareUnsigned(value * INVERSE_OF_FIVE, MULTIPLE_OF_FIVE_LIMIT) <= 0;
+  }
+
+  static int scalarSum(int[] integers) {
+    int sum = 0;
+    for (int integer : integers) {
+      sum += integer;
+    }
+    return sum;
+  }
+
+  static int scalarMin(int[] integers) {
+    int min = Integer.MAX_VALUE;
+    for (int integer : integers) {
+      min = Math.min(min, integer);
+    }
+    return min;
+  }
+
+  static int scalarMax(int[] integers) {
+    int max = Integer.MIN_VALUE;
+    for (int integer : integers) {
+      max = Math.max(max, integer);
+    }
+    return max;
+  }
+
+  static boolean scalarAllMultiplesOfFive(int[] integers) {
+    for (int integer : integers) {
+      if (!isMultipleOfFive(integer)) return false;
+    }
+    return true;
+  }
+
+  static boolean scalarAnyOdd(int[] integers) {
+    for (int integer : integers) {
+      if ((integer & 1) != 0) return true;
+    }
+    return false;
+  }
+
+  static int[] scalarMultiply(int[] integers, int multiple) {
+    int[] products = new int[integers.length];
+    for (int i = 0; i < integers.length; i++) {
+      products[i] = integers[i] * multiple;
+    }
+    return products;
+  }
+}
@@ -0,0 +1,102 @@
+package functional.streams.example;
+
+import functional.utils.UTF8FileReaderUtility;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/*
+ * Regex free equivalent of matching every whitespace separated token against
+ * ".*\\d{3}-\\d{3}-\\d{4}.*" and keeping the last ten digits of the matching tokens. Input is
+ * scanned once through a precomputed substring automaton while the last ten digits of the
+ * current token are kept in a ring, so a String is only created for tokens that match.
+ */
+public final class PhoneNumberScanner {
+
+  private static final String PATTERN = "ddd-ddd-dddd";
+  private static final int DIGITS_KEPT = 10;
+  private static final int DIGIT = 0;
+  private static final int DASH = 1;
+  private static final int OTHER = 2;
+  private static final int ACCEPT = PATTERN.length();
+  private static final byte[][] TRANSITIONS = buildTransitions();
+
+  private PhoneNumberScanner() {}
+
+  public static void scan(CharSequence text, Consumer<? super String> sink) {
+    Objects.requireNonNull(text, "text must not be null");
+    Objects.requireNonNull(sink, "sink must not be null");
+    char[] lastDigits = new char[DIGITS_KEPT];
+    int digits = 0;
+    int state = 0;
+    for (int i = 0, length = text.length(); i <= length; i++) {
+      char c = i < length ? text.charAt(i) : ' ';
+      if (WhitespaceTokenizer.isWhitespace(c)) {
+        if (state == ACCEPT) sink.accept(lastDigits(lastDigits, digits));
+        state = 0;
+        digits = 0;
+      } else if (c >= '0' && c <= '9') {
+        lastDigits[digits++ % DIGITS_KEPT] = c;
+        if (state != ACCEPT) state = TRANSITIONS[state][DIGIT];
+      } else if (state != ACCEPT) {
+        state = TRANSITIONS[state][c == '-' ? DASH : OTHER];
+      }
+    }
+  }
+
+  public static List<String> extract(CharSequence text) {
+    List<String> phoneNumbers = new ArrayList<>();
+    scan(text, phoneNumbers::add);
+    return Collections.unmodifiableList(phoneNumbers);
+  }
+
+  public static List<String> extractAll(Iterable<? extends CharSequence> texts) {
+    Objects.requireNonNull(texts, "texts must not be null");
+    List<String> phoneNumbers = new ArrayList<>();
+    for (CharSequence text : texts) {
+      if (text != null) scan(text, phoneNumbers::add);
+    }
+    return Collections.unmodifiableList(phoneNumbers);
+  }
+
+  /*
+   * Scans the sentences as they are streamed from the file, without holding the file in memory.
+   */
+  public static List<String> extractFromFile(String directory, String fileName) {
+    List<String> phoneNumbers = new ArrayList<>();
+    try (Stream<String> sentences =
+        UTF8FileReaderUtility.streamFileContentsAsSentences(directory, fileName)) {
+      sentences.forEach(sentence -> scan(sentence, phoneNumbers::add));
+    }
+    return Collections.unmodifiableList(phoneNumbers);
+  }
+
+  private static String lastDigits(char[] ring, int digits) {
+    char[] phoneNumber = new char[DIGITS_KEPT];
+    for (int i = 0; i < DIGITS_KEPT; i++) {
+      phoneNumber[i] = ring[(digits + i) % DIGITS_KEPT];
+    }
+    return new String(phoneNumber);
+  }
+
+  /*
+   * KMP style automaton: from every state, the next state is the longest prefix of the pattern
+   * that is a suffix of what has been read. ACCEPT has no outgoing transitions because the scan
+   * only needs to know that the pattern occurred somewhere in the token.
+   */
+  private static byte[][] buildTransitions() {
+    byte[][] transitions = new byte[ACCEPT][3];
+    for (int state = 0; state < ACCEPT; state++) {
+      for (int charClass = DIGIT; charClass <= OTHER; charClass++) {
+        String read = PATTERN.substring(0, state) + "d-x".charAt(charClass);
+        int next = Math.min(read.length(), ACCEPT);
+        while (next > 0 && !PATTERN.startsWith(read.substring(read.length() - next))) next--;
+        transitions[state][charClass] = (byte) next;
+      }
+    }
+    return transitions;
+  }
+}
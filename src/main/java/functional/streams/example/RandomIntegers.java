@@ -0,0 +1,141 @@
+package functional.streams.example;
+
+import com.google.common.base.Preconditions;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/*
+ * Reproducible random ints. The output is cut into fixed size blocks and every block draws from
+ * its own SplittableRandom, seeded from the seed and the block index, so the same seed gives the
+ * same values whether they are generated sequentially or in parallel and on any number of threads.
+ */
+public final class RandomIntegers {
+
+  static final int BLOCK_SIZE = 1 << 14;
+
+  private RandomIntegers() {}
+
+  public static IntStream ints(long seed, long count) {
+    Preconditions.checkArgument(count >= 0, "count should be positive");
+    return StreamSupport.intStream(new BlockSpliterator(seed, 0, count, 0, 0, false), false);
+  }
+
+  /*
+   * Values in [origin, bound).
+   */
+  public static IntStream ints(long seed, long count, int origin, int bound) {
+    Preconditions.checkArgument(count >= 0, "count should be positive");
+    Preconditions.checkArgument(origin < bound, "bound must be greater than origin");
+    return StreamSupport.intStream(
+        new BlockSpliterator(seed, 0, count, origin, bound, true), false);
+  }
+
+  public static int[] generate(long seed, int count) {
+    Preconditions.checkArgument(count >= 0, "count should be positive");
+    int[] values = new int[count];
+    fill(seed, values);
+    return values;
+  }
+
+  public static int[] generate(long seed, int count, int origin, int bound) {
+    Preconditions.checkArgument(count >= 0, "count should be positive");
+    int[] values = new int[count];
+    fill(seed, values, origin, bound);
+    return values;
+  }
+
+  public static void fill(long seed, int[] values) {
+    Objects.requireNonNull(values, "values must not be null");
+    fillBlocks(seed, values, 0, 0, false);
+  }
+
+  public static void fill(long seed, int[] values, int origin, int bound) {
+    Objects.requireNonNull(values, "values must not be null");
+    Preconditions.checkArgument(origin < bound, "bound must be greater than origin");
+    fillBlocks(seed, values, origin, bound, true);
+  }
+
+  private static void fillBlocks(long seed, int[] values, int origin, int bound, boolean bounded) {
+    int blocks = (values.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    IntStream.range(0, blocks)
+        .parallel()
+        .forEach(
+            block -> {
+              RandomGenerator random = blockGenerator(seed, block);
+              int end = (int) Math.min(values.length, (long) (block + 1) * BLOCK_SIZE);
+              for (int i = block * BLOCK_SIZE; i < end; i++) {
+                values[i] = bounded ? random.nextInt(origin, bound) : random.nextInt();
+              }
+            });
+  }
+
+  /*
+   * SplitMix64 finaliser over seed and block index, so neighbouring blocks get unrelated seeds.
+   */
+  static RandomGenerator blockGenerator(long seed, long block) {
+    long z = seed + (block + 1) * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return new SplittableRandom(z ^ (z >>> 31));
+  }
+
+  /*
+   * Covers [index, end); splits only on block boundaries so every block is drawn whole by one
+   * spliterator.
+   */
+  private static final class BlockSpliterator implements Spliterator.OfInt {
+
+    private final long seed;
+    private final long end;
+    private final int origin;
+    private final int bound;
+    private final boolean bounded;
+    private long index;
+    private RandomGenerator random;
+
+    BlockSpliterator(long seed, long index, long end, int origin, int bound, boolean bounded) {
+      this.seed = seed;
+      this.index = index;
+      this.end = end;
+      this.origin = origin;
+      this.bound = bound;
+      this.bounded = bounded;
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+      if (index >= end) return false;
+      if (random == null || index % BLOCK_SIZE == 0) {
+        random = blockGenerator(seed, index / BLOCK_SIZE);
+      }
+      index++;
+      action.accept(bounded ? random.nextInt(origin, bound) : random.nextInt());
+      return true;
+    }
+
+    @Override
+    public OfInt trySplit() {
+      long blocks = (end - index) / BLOCK_SIZE;
+      if (random != null || blocks < 2) return null;
+      long split = index + (blocks / 2) * BLOCK_SIZE;
+      OfInt prefix = new BlockSpliterator(seed, index, split, origin, bound, bounded);
+      index = split;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return end - index;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+    }
+  }
+}
@@ -0,0 +1,137 @@
+package functional.streams.example;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/*
+ * Merges k sorted sources with a loser tree: every internal node keeps the source that lost the
+ * comparison there, so replacing the winner only replays the path from its leaf to the root, about
+ * log2(k) comparisons per element. Equal elements come out in source order.
+ */
+public final class SortedMerge {
+
+  private SortedMerge() {}
+
+  public static <T> Iterator<T> merge(
+      List<? extends Iterator<? extends T>> sources, Comparator<? super T> comparator) {
+    Objects.requireNonNull(sources, "sources must not be null");
+    Objects.requireNonNull(comparator, "comparator must not be null");
+    return new LoserTree<>(sources, comparator);
+  }
+
+  public static <T> List<T> mergeLists(
+      List<? extends List<? extends T>> sortedLists, Comparator<? super T> comparator) {
+    Objects.requireNonNull(sortedLists, "sortedLists must not be null");
+    List<Iterator<? extends T>> sources = new ArrayList<>(sortedLists.size());
+    int size = 0;
+    for (List<? extends T> list : sortedLists) {
+      sources.add(list.iterator());
+      size += list.size();
+    }
+    List<T> merged = new ArrayList<>(size);
+    merge(sources, comparator).forEachRemaining(merged::add);
+    return Collections.unmodifiableList(merged);
+  }
+
+  public static <T> boolean isSorted(
+      Iterable<? extends T> elements, Comparator<? super T> comparator) {
+    Objects.requireNonNull(elements, "elements must not be null");
+    Objects.requireNonNull(comparator, "comparator must not be null");
+    Iterator<? extends T> iterator = elements.iterator();
+    if (!iterator.hasNext()) return true;
+    T previous = iterator.next();
+    while (iterator.hasNext()) {
+      T element = iterator.next();
+      if (comparator.compare(previous, element) > 0) return false;
+      previous = element;
+    }
+    return true;
+  }
+
+  private static final class LoserTree<T> implements Iterator<T> {
+
+    private final Iterator<? extends T>[] sources;
+    private final Comparator<? super T> comparator;
+    private final Object[] heads;
+    private final boolean[] exhausted;
+    // tree[0] is the overall winner, tree[1..k-1] the losers of the internal nodes; the leaves are
+    // the implicit nodes k..2k-1
+    private final int[] tree;
+
+    LoserTree(List<? extends Iterator<? extends T>> sources, Comparator<? super T> comparator) {
+      int k = sources.size();
+      this.sources = sources.toArray(newSources(k));
+      this.comparator = comparator;
+      this.heads = new Object[k];
+      this.exhausted = new boolean[k];
+      this.tree = new int[Math.max(k, 1)];
+      for (int i = 0; i < k; i++) {
+        advance(i);
+      }
+      if (k > 0) tree[0] = build(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> Iterator<? extends E>[] newSources(int length) {
+      return (Iterator<? extends E>[]) new Iterator<?>[length];
+    }
+
+    @Override
+    public boolean hasNext() {
+      return sources.length > 0 && !exhausted[tree[0]];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+      if (!hasNext()) throw new NoSuchElementException();
+      int winner = tree[0];
+      T next = (T) heads[winner];
+      advance(winner);
+      for (int node = (winner + sources.length) >>> 1; node > 0; node >>>= 1) {
+        if (beats(tree[node], winner)) {
+          int loser = winner;
+          winner = tree[node];
+          tree[node] = loser;
+        }
+      }
+      tree[0] = winner;
+      return next;
+    }
+
+    // Returns the winner below node and records the losers on the way up
+    private int build(int node) {
+      if (node >= sources.length) return node - sources.length;
+      int left = build(2 * node);
+      int right = build(2 * node + 1);
+      if (beats(left, right)) {
+        tree[node] = right;
+        return left;
+      }
+      tree[node] = left;
+      return right;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean beats(int source, int other) {
+      if (exhausted[source]) return false;
+      if (exhausted[other]) return true;
+      int comparison = comparator.compare((T) heads[source], (T) heads[other]);
+      return comparison < 0 || (comparison == 0 && source < other);
+    }
+
+    private void advance(int source) {
+      if (sources[source].hasNext()) {
+        heads[source] = sources[source].next();
+      } else {
+        heads[source] = null;
+        exhausted[source] = true;
+      }
+    }
+  }
+}
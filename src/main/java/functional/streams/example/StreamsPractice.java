@@ -4,12 +4,13 @@ import functional.enums.EmployeeTypeCode;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.IntSummaryStatistics;
 import java.util.List;
-import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -18,30 +19,44 @@ public class StreamsPractice {
 
   public int sumOfIntegers(List<Integer> integers) {
     Objects.requireNonNull(integers, "list must not be null");
-    return integers.stream().filter(Objects::nonNull).mapToInt(Integer::intValue).sum();
+    int sum = 0;
+    for (Integer integer : integers) {
+      if (integer != null) sum += integer;
+    }
+    return sum;
   }
 
   public Double averageOfIntegers(List<Integer> integers) {
     Objects.requireNonNull(integers, "list must not be null");
-    return integers.stream()
-        .filter(Objects::nonNull)
-        .mapToInt(Integer::valueOf)
-        .average()
-        .orElse(0.0);
+    return statisticsOfIntegers(integers).getAverage();
   }
 
   public Boolean isAllMultiplesOfFive(List<Integer> integers) {
     Objects.requireNonNull(integers, "list must not be null");
-    return integers.stream()
-        .filter(Objects::nonNull)
-        .allMatch(e -> Integer.remainderUnsigned(e, 5) == 0);
+    for (Integer integer : integers) {
+      if (integer != null && Integer.remainderUnsigned(integer, 5) != 0) return false;
+    }
+    return true;
   }
 
   public Boolean checkIfOddElementsArePresent(List<Integer> integers) {
     Objects.requireNonNull(integers, "list must not be null");
-    return integers.stream()
-        .filter(Objects::nonNull)
-        .anyMatch(e -> Integer.remainderUnsigned(e, 2) > 0);
+    for (Integer integer : integers) {
+      if (integer != null && (integer & 1) != 0) return true;
+    }
+    return false;
+  }
+
+  /*
+   * Sum, min, max, average and count of the non null elements in a single pass.
+   */
+  public IntSummaryStatistics statisticsOfIntegers(List<Integer> integers) {
+    Objects.requireNonNull(integers, "list must not be null");
+    IntSummaryStatistics statistics = new IntSummaryStatistics();
+    for (Integer integer : integers) {
+      if (integer != null) statistics.accept(integer);
+    }
+    return statistics;
   }
 
   public List<Integer> doubleElements(List<Integer> integers) {
@@ -67,45 +82,66 @@ public class StreamsPractice {
   public List<String> sortTwoList(List<String> words1, List<String> words2) {
     Objects.requireNonNull(words1, "first list must not be null");
     Objects.requireNonNull(words2, "second list must not be null");
-    Stream<String> words = Stream.concat(words1.stream(), words2.stream());
-    return words.filter(Objects::nonNull).sorted().toList();
+    return SortedMerge.mergeLists(
+        List.of(sortedWithoutNulls(words1), sortedWithoutNulls(words2)), Comparator.naturalOrder());
+  }
+
+  /*
+   * sortTwoList for word lists larger than the heap: words beyond the memory budget are spilled
+   * to sorted temp files and merged back lazily (see ExternalSort). Close the stream to delete
+   * the files.
+   */
+  public Stream<String> sortTwoList(
+      Stream<String> words1, Stream<String> words2, long memoryBudgetBytes) {
+    Objects.requireNonNull(words1, "first stream must not be null");
+    Objects.requireNonNull(words2, "second stream must not be null");
+    return ExternalSort.sort(Stream.concat(words1, words2), memoryBudgetBytes);
   }
 
   public Boolean checkIfUniqueElementsOnly(List<String> words) {
     Objects.requireNonNull(words, "words must not be null");
-    // TODO: Find a better way
-    return words.stream()
-        .filter(Objects::nonNull)
-        .dropWhile(e -> Collections.frequency(words, e) == 1)
-        .toList()
-        .isEmpty();
+    return DuplicateFinder.findFirstParallel(words).isEmpty();
   }
 
   public List<String> getUniqueWordsFromSentences(List<String> lines) {
     Objects.requireNonNull(lines, "lines must not be null");
-    return lines.stream()
+    UniqueWords words = new UniqueWords();
+    for (String line : lines) {
+      if (line != null) words.addTokens(line);
+    }
+    return words.toList();
+  }
+
+  /*
+   * Keeps the pipeline parallel when the sentences come from a parallel file reader.
+   */
+  public List<String> getUniqueWordsFromStream(Stream<String> sentences) {
+    Objects.requireNonNull(sentences, "sentences must not be null");
+    return sentences
         .filter(Objects::nonNull)
-        .flatMap(e -> Arrays.stream(e.split("\\s+")))
-        .distinct()
+        .collect(UniqueWords::new, UniqueWords::addTokens, UniqueWords::merge)
         .toList();
   }
 
   public int min(List<Integer> integers) {
     Objects.requireNonNull(integers, "integers must not be null");
-    return integers.stream()
-        .min((Integer::compare))
-        .orElseThrow(() -> new NoSuchElementException("No Min element found"));
+    return IntAggregations.min(IntAggregations.toIntArrayRejectingNulls(integers));
   }
 
   public int max(List<Integer> integers) {
     Objects.requireNonNull(integers, "integers must not be null");
-    return integers.stream()
-        .max((Integer::compare))
-        .orElseThrow(() -> new NoSuchElementException("No Max element found"));
+    return IntAggregations.max(IntAggregations.toIntArrayRejectingNulls(integers));
   }
 
   public List<Integer> randomIntegersSupplier(long limit) {
-    return Stream.generate(Random::new).mapToInt(Random::nextInt).limit(limit).boxed().toList();
+    return randomIntegersSupplier(limit, ThreadLocalRandom.current().nextLong());
+  }
+
+  /*
+   * Same seed, same integers; see RandomIntegers for primitive and parallel generation.
+   */
+  public List<Integer> randomIntegersSupplier(long limit, long seed) {
+    return RandomIntegers.ints(seed, limit).boxed().toList();
   }
 
   public String[] transformIntegersToString(List<Integer> integers) {
@@ -113,11 +149,11 @@ public class StreamsPractice {
     return integers.stream().map(Object::toString).toArray(String[]::new);
   }
 
+  /*
+   * Reads from the shared Fibonacci prefix; use Fibonacci.firstTerms for more than 47 terms.
+   */
   public List<Integer> generateFirstNFibonacciNumbers(long limit) {
-    return Stream.iterate(new int[] {0, 1}, n -> new int[] {n[1], n[0] + n[1]})
-        .limit(limit)
-        .map(n -> n[0])
-        .toList();
+    return Fibonacci.firstIntTerms(limit);
   }
 
   public List<String> convertAnyCaseToTitleCase(List<String> words) {
@@ -131,10 +167,7 @@ public class StreamsPractice {
   }
 
   public List<EmployeeTypeCode> getEmployeeTypeCodeWithRankAbove(Integer rankLimit) {
-    return Arrays.stream(EmployeeTypeCode.values())
-        .filter(e -> rankLimit > 0)
-        .filter(e -> e.getRank() < rankLimit)
-        .toList();
+    return rankLimit > 0 ? EmployeeTypeCode.withRankBelow(rankLimit) : List.of();
   }
 
   public List<String> suffixWord(List<String> words, String suffix) {
@@ -152,14 +185,14 @@ public class StreamsPractice {
 
   // Valid Phone Number Format : ddd-ddd-dddd
   public List<String> getValidPhoneNumbersFromFile(List<String> sentences) {
-    return sentences.stream()
-        .flatMap(lines -> Arrays.stream(lines.split("\\s+")))
-        .filter(word -> word.matches(".*\\d{3}-\\d{3}-\\d{4}.*"))
-        .map(
-            word -> {
-              String onlyDigits = word.replaceAll("\\D", "");
-              return onlyDigits.substring(onlyDigits.length() - 10);
-            })
+    return PhoneNumberScanner.extractAll(sentences);
+  }
+
+  public List<String> getValidPhoneNumbersFromStream(Stream<String> sentences) {
+    Objects.requireNonNull(sentences, "sentences must not be null");
+    return sentences
+        .filter(Objects::nonNull)
+        .flatMap(sentence -> PhoneNumberScanner.extract(sentence).stream())
         .toList();
   }
 
@@ -172,6 +205,17 @@ public class StreamsPractice {
     return combined;
   }
 
+  /*
+   * Set union: the distinct values of both lists in ascending order, computed on compressed
+   * bitmaps (see IntBitmap). union keeps every element of both lists, duplicates included.
+   */
+  public List<Integer> distinctUnion(List<Integer> list1, List<Integer> list2) {
+    Objects.requireNonNull(list1, "list1 must not be null");
+    Objects.requireNonNull(list2, "list2 must not be null");
+    IntBitmap union = IntBitmap.or(IntBitmap.of(list1), IntBitmap.of(list2));
+    return Arrays.stream(union.toArray()).boxed().toList();
+  }
+
   public List<String> intersection(List<String> list1, List<String> list2) {
     Objects.requireNonNull(list1, "list1 must not be null");
     Objects.requireNonNull(list2, "list2 must not be null");
@@ -180,4 +224,16 @@ public class StreamsPractice {
     intersect.retainAll(list2);
     return new ArrayList<>(intersect);
   }
+
+  // Inputs that are already sorted are merged as they are
+  private static List<String> sortedWithoutNulls(List<String> words) {
+    String previous = null;
+    for (String word : words) {
+      if (word == null || (previous != null && previous.compareTo(word) > 0)) {
+        return words.stream().filter(Objects::nonNull).sorted().toList();
+      }
+      previous = word;
+    }
+    return words;
+  }
 }
@@ -0,0 +1,105 @@
+package functional.streams.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/*
+ * Distinct words in the order they are first seen. Tokens are looked up by their character range
+ * in the source text, hashed and compared in place, so a String is only created the first time a
+ * word is seen; repeated words allocate nothing. The table is open addressing (linear probing)
+ * over indexes into the word list, with the hashes kept alongside to avoid rehashing on resize.
+ */
+public final class UniqueWords {
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private final List<String> words = new ArrayList<>();
+  // Slot -> index of the word in words plus one, zero for an empty slot
+  private int[] slots = new int[DEFAULT_CAPACITY];
+  private int[] hashes = new int[DEFAULT_CAPACITY];
+  private int mask = DEFAULT_CAPACITY - 1;
+
+  public void add(CharSequence text, int start, int end) {
+    Objects.requireNonNull(text, "text must not be null");
+    Objects.checkFromToIndex(start, end, text.length());
+    int hash = hash(text, start, end);
+    int slot = spread(hash) & mask;
+    for (int index; (index = slots[slot]) != 0; slot = (slot + 1) & mask) {
+      if (hashes[slot] == hash && matches(words.get(index - 1), text, start, end)) return;
+    }
+    words.add(text.subSequence(start, end).toString());
+    slots[slot] = words.size();
+    hashes[slot] = hash;
+    if (words.size() * 2 > slots.length) resize();
+  }
+
+  /*
+   * Adds the whitespace separated words of the line, see WhitespaceTokenizer.
+   */
+  public void addTokens(CharSequence line) {
+    WhitespaceTokenizer.tokenize(line, this::add);
+  }
+
+  /*
+   * Adds the words of other after the words of this one, as if other's text had followed.
+   */
+  public void merge(UniqueWords other) {
+    Objects.requireNonNull(other, "other must not be null");
+    for (String word : other.words) {
+      add(word, 0, word.length());
+    }
+  }
+
+  public int size() {
+    return words.size();
+  }
+
+  public List<String> toList() {
+    return List.copyOf(words);
+  }
+
+  private void resize() {
+    int[] oldSlots = slots;
+    int[] oldHashes = hashes;
+    slots = new int[oldSlots.length << 1];
+    hashes = new int[oldSlots.length << 1];
+    mask = slots.length - 1;
+    for (int i = 0; i < oldSlots.length; i++) {
+      if (oldSlots[i] == 0) continue;
+      int slot = spread(oldHashes[i]) & mask;
+      while (slots[slot] != 0) slot = (slot + 1) & mask;
+      slots[slot] = oldSlots[i];
+      hashes[slot] = oldHashes[i];
+    }
+  }
+
+  // Same value as String.hashCode() of the range
+  private static int hash(CharSequence text, int start, int end) {
+    int hash = 0;
+    for (int i = start; i < end; i++) {
+      hash = 31 * hash + text.charAt(i);
+    }
+    return hash;
+  }
+
+  private static boolean matches(String word, CharSequence text, int start, int end) {
+    int length = end - start;
+    if (word.length() != length) return false;
+    if (text instanceof String string) return word.regionMatches(0, string, start, length);
+    for (int i = 0; i < length; i++) {
+      if (word.charAt(i) != text.charAt(start + i)) return false;
+    }
+    return true;
+  }
+
+  private static int spread(int hash) {
+    int h = hash * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  @Override
+  public String toString() {
+    return words.toString();
+  }
+}
@@ -0,0 +1,99 @@
+package functional.streams.example;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/*
+ * jdk.incubator.vector implementations of the IntKernels. Only loaded by IntKernels when the
+ * module has been added to the boot layer (--add-modules jdk.incubator.vector); every loop runs
+ * whole vectors up to the loop bound and finishes the tail with scalar code.
+ */
+final class VectorIntKernels {
+
+  private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+  private VectorIntKernels() {}
+
+  static int sum(int[] integers) {
+    IntVector sums = IntVector.zero(SPECIES);
+    int i = 0;
+    for (int bound = SPECIES.loopBound(integers.length); i < bound; i += SPECIES.length()) {
+      sums = sums.add(IntVector.fromArray(SPECIES, integers, i));
+    }
+    int sum = sums.reduceLanes(VectorOperators.ADD);
+    for (; i < integers.length; i++) {
+      sum += integers[i];
+    }
+    return sum;
+  }
+
+  static int min(int[] integers) {
+    IntVector mins = IntVector.broadcast(SPECIES, Integer.MAX_VALUE);
+    int i = 0;
+    for (int bound = SPECIES.loopBound(integers.length); i < bound; i += SPECIES.length()) {
+      mins = mins.min(IntVector.fromArray(SPECIES, integers, i));
+    }
+    int min = mins.reduceLanes(VectorOperators.MIN);
+    for (; i < integers.length; i++) {
+      min = Math.min(min, integers[i]);
+    }
+    return min;
+  }
+
+  static int max(int[] integers) {
+    IntVector maxes = IntVector.broadcast(SPECIES, Integer.MIN_VALUE);
+    int i = 0;
+    for (int bound = SPECIES.loopBound(integers.length); i < bound; i += SPECIES.length()) {
+      maxes = maxes.max(IntVector.fromArray(SPECIES, integers, i));
+    }
+    int max = maxes.reduceLanes(VectorOperators.MAX);
+    for (; i < integers.length; i++) {
+      max = Math.max(max, integers[i]);
+    }
+    return max;
+  }
+
+  /*
+   * See IntKernels.isMultipleOfFive; the unsigned comparison is done by flipping the sign bit.
+   */
+  static boolean allMultiplesOfFive(int[] integers) {
+    int limit = IntKernels.MULTIPLE_OF_FIVE_LIMIT ^ Integer.MIN_VALUE;
+    int i = 0;
+    for (int bound = SPECIES.loopBound(integers.length); i < bound; i += SPECIES.length()) {
+      IntVector scaled =
+          IntVector.fromArray(SPECIES, integers, i)
+              .mul(IntKernels.INVERSE_OF_FIVE)
+              .lanewise(VectorOperators.XOR, Integer.MIN_VALUE);
+      if (scaled.compare(VectorOperators.GT, limit).anyTrue()) return false;
+    }
+    for (; i < integers.length; i++) {
+      if (!IntKernels.isMultipleOfFive(integers[i])) return false;
+    }
+    return true;
+  }
+
+  static boolean anyOdd(int[] integers) {
+    int i = 0;
+    for (int bound = SPECIES.loopBound(integers.length); i < bound; i += SPECIES.length()) {
+      IntVector lowBits = IntVector.fromArray(SPECIES, integers, i).and(1);
+      if (lowBits.compare(VectorOperators.NE, 0).anyTrue()) return true;
+    }
+    for (; i < integers.length; i++) {
+      if ((integers[i] & 1) != 0) return true;
+    }
+    return false;
+  }
+
+  static int[] multiply(int[] integers, int multiple) {
+    int[] products = new int[integers.length];
+    int i = 0;
+    for (int bound = SPECIES.loopBound(integers.length); i < bound; i += SPECIES.length()) {
+      IntVector.fromArray(SPECIES, integers, i).mul(multiple).intoArray(products, i);
+    }
+    for (; i < integers.length; i++) {
+      products[i] = integers[i] * multiple;
+    }
+    return products;
+  }
+}
@@ -0,0 +1,45 @@
+package functional.streams.example;
+
+import java.util.Objects;
+
+/*
+ * Splits text on runs of whitespace like split("\\s+"), but hands each token to the sink as an
+ * offset range over the original text instead of allocating a String per token. The edge cases
+ * of split are kept: a line that starts with whitespace has an empty first token, an empty line
+ * is one empty token and a line of whitespace only has none.
+ */
+public final class WhitespaceTokenizer {
+
+  @FunctionalInterface
+  public interface TokenSink {
+    /* The token is text[start, end). */
+    void accept(CharSequence text, int start, int end);
+  }
+
+  private WhitespaceTokenizer() {}
+
+  public static void tokenize(CharSequence text, TokenSink sink) {
+    Objects.requireNonNull(text, "text must not be null");
+    Objects.requireNonNull(sink, "sink must not be null");
+    int length = text.length();
+    if (length == 0) {
+      sink.accept(text, 0, 0);
+      return;
+    }
+    int i = 0;
+    while (i < length && isWhitespace(text.charAt(i))) i++;
+    if (i == length) return;
+    if (i > 0) sink.accept(text, 0, 0);
+    while (i < length) {
+      int start = i;
+      while (i < length && !isWhitespace(text.charAt(i))) i++;
+      sink.accept(text, start, i);
+      while (i < length && isWhitespace(text.charAt(i))) i++;
+    }
+  }
+
+  static boolean isWhitespace(char c) {
+    // Same set as the \s regex class
+    return c == ' ' || (c >= '\t' && c <= '\r');
+  }
+}
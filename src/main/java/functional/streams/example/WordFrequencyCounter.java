@@ -0,0 +1,122 @@
+package functional.streams.example;
+
+import com.google.common.base.Preconditions;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/*
+ * Single pass word counter backed by an open addressing (linear probing) String -> int table.
+ * Counts are kept as primitive ints, so nothing is boxed until the result maps are built.
+ */
+public final class WordFrequencyCounter {
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private String[] keys;
+  private int[] counts;
+  private int mask;
+  private int size;
+
+  public WordFrequencyCounter() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public WordFrequencyCounter(int expectedWords) {
+    Preconditions.checkArgument(expectedWords >= 0, "expectedWords should be positive");
+    int capacity =
+        tableSizeFor((int) Math.max(DEFAULT_CAPACITY, Math.min(1 << 30, expectedWords * 2L)));
+    keys = new String[capacity];
+    counts = new int[capacity];
+    mask = capacity - 1;
+  }
+
+  public static WordFrequencyCounter count(Iterable<String> words) {
+    Objects.requireNonNull(words, "words must not be null");
+    WordFrequencyCounter counter = new WordFrequencyCounter();
+    for (String word : words) {
+      if (word != null) counter.add(word);
+    }
+    return counter;
+  }
+
+  public void add(String word) {
+    Objects.requireNonNull(word, "word must not be null");
+    int slot = slotOf(word);
+    if (keys[slot] == null) {
+      keys[slot] = word;
+      counts[slot] = 1;
+      if (++size * 2 > keys.length) resize();
+    } else {
+      counts[slot]++;
+    }
+  }
+
+  public int frequencyOf(String word) {
+    if (word == null) return 0;
+    int slot = slotOf(word);
+    return keys[slot] == null ? 0 : counts[slot];
+  }
+
+  public int distinctWords() {
+    return size;
+  }
+
+  public Map<String, Long> toFrequencyMap() {
+    Map<String, Long> frequencies = new HashMap<>(capacityFor(size));
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != null) frequencies.put(keys[i], (long) counts[i]);
+    }
+    return frequencies;
+  }
+
+  /*
+   * Inverts the counted table into frequency -> words buckets, reading the table only.
+   */
+  public Map<Integer, Set<String>> groupByFrequency() {
+    Map<Integer, Set<String>> buckets = new HashMap<>();
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != null) buckets.computeIfAbsent(counts[i], k -> new HashSet<>()).add(keys[i]);
+    }
+    return buckets;
+  }
+
+  private int slotOf(String word) {
+    int slot = spread(word.hashCode()) & mask;
+    String key;
+    while ((key = keys[slot]) != null && !key.equals(word)) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void resize() {
+    String[] oldKeys = keys;
+    int[] oldCounts = counts;
+    keys = new String[oldKeys.length << 1];
+    counts = new int[oldKeys.length << 1];
+    mask = keys.length - 1;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] == null) continue;
+      int slot = spread(oldKeys[i].hashCode()) & mask;
+      while (keys[slot] != null) slot = (slot + 1) & mask;
+      keys[slot] = oldKeys[i];
+      counts[slot] = oldCounts[i];
+    }
+  }
+
+  private static int spread(int hash) {
+    int h = hash * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  private static int tableSizeFor(int capacity) {
+    return capacity >= 1 << 30 ? 1 << 30 : Integer.highestOneBit(capacity - 1) << 1;
+  }
+
+  private static int capacityFor(int entries) {
+    return (int) Math.min(Integer.MAX_VALUE, entries * 4L / 3 + 1);
+  }
+}
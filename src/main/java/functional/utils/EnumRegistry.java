@@ -0,0 +1,229 @@
+package functional.utils;
+
+import com.google.common.base.Preconditions;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/*
+ * Lookups over the constants of an enum that carry a code and a rank, built once (typically in a
+ * static field of the enum) so no query clones values() or boxes a rank.
+ *
+ * Codes are found through a hash table whose salt is searched for at build time until every code
+ * lands in its own slot, so a lookup hashes the code and compares it with at most one constant.
+ * Codes can be looked up from any CharSequence range, a message buffer for instance, without
+ * creating a String. Ranks are kept sorted next to the constants so range queries are a binary
+ * search.
+ */
+public final class EnumRegistry<E extends Enum<E>> {
+
+  private static final int MAX_SALT_ATTEMPTS = 64;
+
+  private final Class<E> type;
+  private final String[] codes;
+  private final int[] ranks;
+  private final E[] byRank;
+  private final List<E> byRankList;
+  private final int[] sortedRanks;
+  private final E[] slots;
+  private final int salt;
+  private final int shift;
+  private final Map<E, String> codeMap;
+  // rankedBelow lists by number of lowest ranks, built on first use
+  private final AtomicReferenceArray<List<E>> lowestRanked;
+
+  private EnumRegistry(Class<E> type, Function<E, String> code, ToIntFunction<E> rank) {
+    this.type = type;
+    E[] constants = type.getEnumConstants();
+    this.codes = new String[constants.length];
+    this.ranks = new int[constants.length];
+    EnumMap<E, String> codeMap = new EnumMap<>(type);
+    for (E constant : constants) {
+      String constantCode = Objects.requireNonNull(code.apply(constant), "code must not be null");
+      codes[constant.ordinal()] = constantCode;
+      ranks[constant.ordinal()] = rank.applyAsInt(constant);
+      Preconditions.checkArgument(
+          !codeMap.containsValue(constantCode), "duplicate code %s", constantCode);
+      codeMap.put(constant, constantCode);
+    }
+    this.codeMap = Collections.unmodifiableMap(codeMap);
+
+    this.byRank = constants.clone();
+    Arrays.sort(byRank, Comparator.comparingInt((E constant) -> ranks[constant.ordinal()]));
+    this.byRankList = List.of(byRank);
+    this.sortedRanks = Arrays.stream(byRank).mapToInt(this::rank).toArray();
+    this.lowestRanked = new AtomicReferenceArray<>(constants.length + 1);
+
+    int tableSize = Integer.highestOneBit(Math.max(1, constants.length * 2 - 1)) << 1;
+    this.shift = Integer.numberOfLeadingZeros(tableSize - 1);
+    this.salt = findSalt(tableSize);
+    this.slots = Arrays.copyOf(constants, tableSize);
+    Arrays.fill(slots, null);
+    for (E constant : constants) {
+      int slot = slot(codes[constant.ordinal()].hashCode());
+      while (slots[slot] != null) slot = (slot + 1) & (tableSize - 1);
+      slots[slot] = constant;
+    }
+  }
+
+  public static <E extends Enum<E>> EnumRegistry<E> of(
+      Class<E> type, Function<E, String> code, ToIntFunction<E> rank) {
+    Objects.requireNonNull(type, "type must not be null");
+    Objects.requireNonNull(code, "code must not be null");
+    Objects.requireNonNull(rank, "rank must not be null");
+    return new EnumRegistry<>(type, code, rank);
+  }
+
+  public Optional<E> find(CharSequence code) {
+    Objects.requireNonNull(code, "code must not be null");
+    return Optional.ofNullable(lookup(code, 0, code.length()));
+  }
+
+  /*
+   * Like valueOf, but by code; throws IllegalArgumentException for an unknown code.
+   */
+  public E byCode(CharSequence code) {
+    Objects.requireNonNull(code, "code must not be null");
+    return byCode(code, 0, code.length());
+  }
+
+  /*
+   * The constant whose code is text[start, end).
+   */
+  public E byCode(CharSequence text, int start, int end) {
+    Objects.requireNonNull(text, "text must not be null");
+    Objects.checkFromToIndex(start, end, text.length());
+    E constant = lookup(text, start, end);
+    if (constant == null) {
+      throw new IllegalArgumentException(
+          String.format("No %s with code %s", type.getSimpleName(), text.subSequence(start, end)));
+    }
+    return constant;
+  }
+
+  public String code(E constant) {
+    return codes[constant.ordinal()];
+  }
+
+  public int rank(E constant) {
+    return ranks[constant.ordinal()];
+  }
+
+  public Map<E, String> codes() {
+    return codeMap;
+  }
+
+  /*
+   * Constants in rank order, ties in declaration order.
+   */
+  public List<E> byRank() {
+    return byRankList;
+  }
+
+  /*
+   * Constants whose rank is below the limit, in declaration order.
+   */
+  public List<E> rankedBelow(int limit) {
+    int count = lowerBound(limit);
+    List<E> ranked = lowestRanked.get(count);
+    if (ranked == null) {
+      // At worst two threads build the same list and one of them is kept
+      ranked = List.copyOf(rankedBetween(Integer.MIN_VALUE, limit));
+      if (!lowestRanked.compareAndSet(count, null, ranked)) ranked = lowestRanked.get(count);
+    }
+    return ranked;
+  }
+
+  /*
+   * Constants whose rank is in [from, to), as a new set.
+   */
+  public EnumSet<E> rankedBetween(int from, int to) {
+    EnumSet<E> ranked = EnumSet.noneOf(type);
+    for (int i = lowerBound(from), end = lowerBound(to); i < end; i++) {
+      ranked.add(byRank[i]);
+    }
+    return ranked;
+  }
+
+  // Number of ranks below the limit
+  private int lowerBound(int limit) {
+    int low = 0;
+    int high = sortedRanks.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (sortedRanks[middle] < limit) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private E lookup(CharSequence text, int start, int end) {
+    int mask = slots.length - 1;
+    for (int slot = slot(hash(text, start, end)); ; slot = (slot + 1) & mask) {
+      E constant = slots[slot];
+      if (constant == null || matches(codes[constant.ordinal()], text, start, end)) {
+        return constant;
+      }
+    }
+  }
+
+  /*
+   * First salt that sends every code to its own slot; if none of the attempts does, the last
+   * one is kept and colliding codes are probed linearly.
+   */
+  private int findSalt(int tableSize) {
+    int candidate = 0;
+    for (int attempt = 0; attempt < MAX_SALT_ATTEMPTS; attempt++) {
+      candidate = 0x9E3779B9 * (2 * attempt + 1);
+      boolean[] used = new boolean[tableSize];
+      boolean perfect = true;
+      for (String code : codes) {
+        int slot = slot(code.hashCode(), candidate);
+        perfect &= !used[slot];
+        used[slot] = true;
+      }
+      if (perfect) return candidate;
+    }
+    return candidate;
+  }
+
+  private int slot(int hash) {
+    return slot(hash, salt);
+  }
+
+  private int slot(int hash, int salt) {
+    int h = hash * salt;
+    return (h ^ (h >>> 16)) >>> shift;
+  }
+
+  // Same value as String.hashCode() of the range
+  private static int hash(CharSequence text, int start, int end) {
+    int hash = 0;
+    for (int i = start; i < end; i++) {
+      hash = 31 * hash + text.charAt(i);
+    }
+    return hash;
+  }
+
+  private static boolean matches(String code, CharSequence text, int start, int end) {
+    int length = end - start;
+    if (code.length() != length) return false;
+    if (text instanceof String string) return code.regionMatches(0, string, start, length);
+    for (int i = 0; i < length; i++) {
+      if (code.charAt(i) != text.charAt(start + i)) return false;
+    }
+    return true;
+  }
+}
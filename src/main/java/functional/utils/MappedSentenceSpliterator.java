@@ -0,0 +1,219 @@
+package functional.utils;
+
+import com.google.common.base.Preconditions;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Streams sentences out of a file through a sliding memory mapped window. Bytes are decoded into
+ * a small char buffer one chunk at a time; a multi-byte sequence cut by the end of a window is
+ * picked up again by mapping the next window from the first unconsumed byte, and a sentence cut
+ * by the end of a chunk is carried over in a builder. A sentence ends at '.' or a line break and
+ * blank sentences are skipped.
+ */
+@Slf4j
+final class MappedSentenceSpliterator extends Spliterators.AbstractSpliterator<String>
+    implements Closeable {
+
+  static final int DEFAULT_WINDOW_SIZE = 1 << 26;
+  private static final int CHAR_BUFFER_SIZE = 1 << 15;
+  private static final Object UNSAFE;
+  private static final Method UNMAPPER;
+
+  static {
+    Object unsafe = null;
+    Method unmapper = null;
+    try {
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      unsafe = theUnsafe.get(null);
+      unmapper = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      log.debug("Explicit unmapping is not available", e);
+    }
+    UNSAFE = unsafe;
+    UNMAPPER = unmapper;
+  }
+
+  private final FileChannel channel;
+  private final boolean ownsChannel;
+  private final long end;
+  private final int windowSize;
+  private final CharsetDecoder decoder =
+      StandardCharsets.UTF_8
+          .newDecoder()
+          .onMalformedInput(CodingErrorAction.REPORT)
+          .onUnmappableCharacter(CodingErrorAction.REPORT);
+  private final CharBuffer chars;
+  private final StringBuilder sentence = new StringBuilder();
+
+  private MappedByteBuffer window;
+  private long windowStart;
+  private boolean endOfInput;
+
+  MappedSentenceSpliterator(Path path, int windowSize) throws IOException {
+    this(path, windowSize, CHAR_BUFFER_SIZE);
+  }
+
+  MappedSentenceSpliterator(Path path, int windowSize, int charBufferSize) throws IOException {
+    this(FileChannel.open(path, StandardOpenOption.READ), true, 0, -1, windowSize, charBufferSize);
+  }
+
+  /*
+   * Reads only the sentences of the byte range [start, end), which must begin at a sentence
+   * start. The channel stays open on close, it belongs to the caller.
+   */
+  MappedSentenceSpliterator(FileChannel channel, long start, long end, int windowSize) {
+    this(channel, false, start, end, windowSize, CHAR_BUFFER_SIZE);
+  }
+
+  private MappedSentenceSpliterator(
+      FileChannel channel,
+      boolean ownsChannel,
+      long start,
+      long end,
+      int windowSize,
+      int charBufferSize) {
+    super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+    Preconditions.checkArgument(windowSize >= 4, "windowSize should be at least 4 bytes");
+    Preconditions.checkArgument(charBufferSize > 1, "charBufferSize should be at least 2 chars");
+    this.channel = channel;
+    this.ownsChannel = ownsChannel;
+    try {
+      this.end = end < 0 ? channel.size() : end;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    this.windowStart = start;
+    this.windowSize = windowSize;
+    this.chars = CharBuffer.allocate(charBufferSize).flip();
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super String> action) {
+    while (chars.hasRemaining() || fill()) {
+      char[] array = chars.array();
+      int from = chars.position();
+      int limit = chars.limit();
+      int to = from;
+      while (to < limit && !isTerminator(array[to])) to++;
+      sentence.append(array, from, to - from);
+      if (to == limit) {
+        chars.position(limit);
+        continue;
+      }
+      chars.position(to + 1);
+      String completed = takeSentence();
+      if (completed != null) {
+        action.accept(completed);
+        return true;
+      }
+    }
+    String last = takeSentence();
+    if (last == null) return false;
+    action.accept(last);
+    return true;
+  }
+
+  private static boolean isTerminator(char c) {
+    return c == '.' || c == '\n' || c == '\r';
+  }
+
+  /*
+   * Trimmed sentence built so far, or null when it is blank.
+   */
+  private String takeSentence() {
+    int from = 0;
+    int to = sentence.length();
+    while (from < to && sentence.charAt(from) <= ' ') from++;
+    while (to > from && sentence.charAt(to - 1) <= ' ') to--;
+    String trimmed = from == to ? null : sentence.substring(from, to);
+    sentence.setLength(0);
+    return trimmed;
+  }
+
+  /*
+   * Decodes the next chunk of chars, mapping a new window whenever the current one is drained.
+   */
+  private boolean fill() {
+    if (endOfInput) return false;
+    chars.clear();
+    try {
+      while (chars.position() == 0) {
+        if (window != null) {
+          boolean lastWindow = windowStart + window.capacity() == end;
+          CoderResult result = decoder.decode(window, chars, lastWindow);
+          if (result.isError()) result.throwException();
+          if (chars.position() > 0) break;
+          if (lastWindow) {
+            decoder.flush(chars);
+            endOfInput = true;
+            break;
+          }
+        }
+        remap(window == null ? windowStart : windowStart + window.position());
+      }
+    } catch (CharacterCodingException e) {
+      throw new UncheckedIOException(e);
+    }
+    chars.flip();
+    return chars.hasRemaining();
+  }
+
+  private void remap(long position) {
+    unmap(window);
+    try {
+      window =
+          channel.map(
+              FileChannel.MapMode.READ_ONLY, position, Math.min(windowSize, end - position));
+      windowStart = position;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void close() {
+    unmap(window);
+    window = null;
+    endOfInput = true;
+    if (!ownsChannel) return;
+    try {
+      channel.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /*
+   * Mapped buffers are otherwise only released by the garbage collector, which lets address space
+   * pile up on multi-GB files. The buffer must not be used after this call.
+   */
+  private static void unmap(ByteBuffer buffer) {
+    if (buffer == null || UNMAPPER == null) return;
+    try {
+      UNMAPPER.invoke(UNSAFE, buffer);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      log.debug("Mapped buffer left to the garbage collector", e);
+    }
+  }
+}
@@ -0,0 +1,297 @@
+package functional.utils;
+
+import com.google.common.base.Preconditions;
+import functional.model.Person;
+import io.vavr.control.Try;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/*
+ * Binary file of people that is memory mapped instead of parsed, so opening it only reads the
+ * header whatever the number of rows.
+ *
+ * Layout, little endian:
+ *   header     magic, version, row count, string count, string data and string index offsets
+ *   rows       fixed width: birth epoch day, first name code, last name code (3 ints)
+ *   strings    UTF-8 length (-1 for null) and bytes of every distinct name, first and last names
+ *              sharing one table
+ *   index      offset of every string from the start of the string data (a long each)
+ *
+ * Rows are read in place and names are decoded on first use. The mapping lives until the
+ * PersonFile is garbage collected.
+ */
+public final class PersonFile {
+
+  private static final int MAGIC = 0x50534E31;
+  private static final int VERSION = 1;
+  private static final int HEADER_BYTES = 40;
+  private static final int ROW_BYTES = 3 * Integer.BYTES;
+  // Rows are mapped in segments, since a single mapping is limited to 2 GB
+  private static final int ROWS_PER_SEGMENT = 1 << 26;
+  private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+  private final long size;
+  private final ByteBuffer[] rowSegments;
+  private final ByteBuffer strings;
+  private final int stringCount;
+  // Position of the string index within the mapped strings, which start with the string data
+  private final int stringIndexOffset;
+  private final String[] decodedStrings;
+
+  private PersonFile(
+      long size, ByteBuffer[] rowSegments, ByteBuffer strings, int stringCount, long indexOffset) {
+    this.size = size;
+    this.rowSegments = rowSegments;
+    this.strings = strings;
+    this.stringCount = stringCount;
+    this.stringIndexOffset = (int) indexOffset;
+    this.decodedStrings = new String[stringCount];
+  }
+
+  public static Try<Path> write(Path path, Iterable<? extends Person> people) {
+    Objects.requireNonNull(people, "people must not be null");
+    return write(path, people.iterator());
+  }
+
+  /*
+   * Streams the people to the file; only the distinct names are kept in memory.
+   */
+  public static Try<Path> write(Path path, Iterator<? extends Person> people) {
+    Objects.requireNonNull(path, "path must not be null");
+    Objects.requireNonNull(people, "people must not be null");
+    return Try.withResources(
+            () ->
+                FileChannel.open(
+                    path,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE))
+        .of(
+            channel -> {
+              Map<String, Integer> codes = new HashMap<>();
+              List<String> names = new ArrayList<>();
+              ByteBuffer buffer =
+                  ByteBuffer.allocate(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+              channel.position(HEADER_BYTES);
+              long rows = 0;
+              while (people.hasNext()) {
+                Person person = Objects.requireNonNull(people.next(), "person must not be null");
+                LocalDate dateOfBirth =
+                    Objects.requireNonNull(
+                        person.getDateOfBirth(), "dateOfBirth must not be null");
+                if (buffer.remaining() < ROW_BYTES) flush(channel, buffer);
+                buffer.putInt(Math.toIntExact(dateOfBirth.toEpochDay()));
+                buffer.putInt(encode(person.getFirstName(), codes, names));
+                buffer.putInt(encode(person.getLastName(), codes, names));
+                rows++;
+              }
+              flush(channel, buffer);
+
+              long dataOffset = channel.position();
+              long[] stringOffsets = new long[names.size()];
+              long stringOffset = 0;
+              for (int code = 0; code < names.size(); code++) {
+                String name = names.get(code);
+                byte[] bytes = name == null ? new byte[0] : name.getBytes(StandardCharsets.UTF_8);
+                stringOffsets[code] = stringOffset;
+                stringOffset += Integer.BYTES + bytes.length;
+                if (buffer.remaining() < Integer.BYTES) flush(channel, buffer);
+                buffer.putInt(name == null ? -1 : bytes.length);
+                for (int from = 0; from < bytes.length; ) {
+                  if (!buffer.hasRemaining()) flush(channel, buffer);
+                  int length = Math.min(buffer.remaining(), bytes.length - from);
+                  buffer.put(bytes, from, length);
+                  from += length;
+                }
+              }
+              flush(channel, buffer);
+              long indexOffset = channel.position();
+              for (long offset : stringOffsets) {
+                if (buffer.remaining() < Long.BYTES) flush(channel, buffer);
+                buffer.putLong(offset);
+              }
+              flush(channel, buffer);
+
+              buffer
+                  .putInt(MAGIC)
+                  .putInt(VERSION)
+                  .putLong(rows)
+                  .putInt(names.size())
+                  .putInt(0)
+                  .putLong(dataOffset)
+                  .putLong(indexOffset);
+              channel.position(0);
+              flush(channel, buffer);
+              return path;
+            });
+  }
+
+  public static Try<PersonFile> open(Path path) {
+    Objects.requireNonNull(path, "path must not be null");
+    return Try.withResources(() -> FileChannel.open(path, StandardOpenOption.READ))
+        .of(PersonFile::map);
+  }
+
+  public long size() {
+    return size;
+  }
+
+  public int birthEpochDay(long row) {
+    return row(row).getInt(offsetInSegment(row));
+  }
+
+  public LocalDate dateOfBirth(long row) {
+    return LocalDate.ofEpochDay(birthEpochDay(row));
+  }
+
+  public String firstName(long row) {
+    return string(row(row).getInt(offsetInSegment(row) + Integer.BYTES));
+  }
+
+  public String lastName(long row) {
+    return string(row(row).getInt(offsetInSegment(row) + 2 * Integer.BYTES));
+  }
+
+  public Person person(long row) {
+    return Person.builder()
+        .withFirstName(firstName(row))
+        .withLastName(lastName(row))
+        .withDateOfBirth(dateOfBirth(row))
+        .build();
+  }
+
+  /*
+   * Lazy view: a Person is built each time a row is read.
+   */
+  public List<Person> people() {
+    Preconditions.checkState(size <= Integer.MAX_VALUE, "too many rows for a list: %s", size);
+    return new People();
+  }
+
+  /*
+   * Copies the columns into a PersonTable in one sequential pass; the names are decoded once
+   * and their codes are kept as they are in the file.
+   */
+  public PersonTable toTable() {
+    Preconditions.checkState(size <= Integer.MAX_VALUE, "too many rows for a table: %s", size);
+    int rows = (int) size;
+    int[] birthEpochDays = new int[rows];
+    int[] firstNameCodes = new int[rows];
+    int[] lastNameCodes = new int[rows];
+    for (int row = 0; row < rows; row++) {
+      ByteBuffer segment = row(row);
+      int offset = offsetInSegment(row);
+      birthEpochDays[row] = segment.getInt(offset);
+      firstNameCodes[row] = segment.getInt(offset + Integer.BYTES);
+      lastNameCodes[row] = segment.getInt(offset + 2 * Integer.BYTES);
+    }
+    String[] names = new String[stringCount];
+    for (int code = 0; code < stringCount; code++) {
+      names[code] = string(code);
+    }
+    return new PersonTable(birthEpochDays, firstNameCodes, lastNameCodes, names, names);
+  }
+
+  private static PersonFile map(FileChannel channel) throws IOException {
+    long fileSize = channel.size();
+    Preconditions.checkArgument(fileSize >= HEADER_BYTES, "not a person file");
+    ByteBuffer header = map(channel, 0, HEADER_BYTES);
+    Preconditions.checkArgument(
+        header.getInt(0) == MAGIC && header.getInt(4) == VERSION, "not a person file");
+    long rows = header.getLong(8);
+    int stringCount = header.getInt(16);
+    long dataOffset = header.getLong(24);
+    long indexOffset = header.getLong(32);
+    Preconditions.checkArgument(
+        rows >= 0
+            && rows <= (fileSize - HEADER_BYTES) / ROW_BYTES
+            && stringCount >= 0
+            && dataOffset == HEADER_BYTES + rows * ROW_BYTES
+            && indexOffset >= dataOffset
+            && indexOffset + (long) stringCount * Long.BYTES == fileSize
+            && fileSize - dataOffset <= Integer.MAX_VALUE,
+        "not a person file");
+
+    int segmentCount = (int) ((rows + ROWS_PER_SEGMENT - 1) / ROWS_PER_SEGMENT);
+    ByteBuffer[] segments = new ByteBuffer[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      long first = (long) i * ROWS_PER_SEGMENT;
+      long bytes = Math.min(ROWS_PER_SEGMENT, rows - first) * ROW_BYTES;
+      segments[i] = map(channel, HEADER_BYTES + first * ROW_BYTES, bytes);
+    }
+    ByteBuffer strings = map(channel, dataOffset, fileSize - dataOffset);
+    return new PersonFile(rows, segments, strings, stringCount, indexOffset - dataOffset);
+  }
+
+  private static ByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+    ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+    return mapped.order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  private ByteBuffer row(long row) {
+    Objects.checkIndex(row, size);
+    return rowSegments[(int) (row / ROWS_PER_SEGMENT)];
+  }
+
+  private static int offsetInSegment(long row) {
+    return (int) (row % ROWS_PER_SEGMENT) * ROW_BYTES;
+  }
+
+  private String string(int code) {
+    Objects.checkIndex(code, stringCount);
+    String decoded = decodedStrings[code];
+    if (decoded != null) return decoded;
+    int offset = (int) strings.getLong(stringIndexOffset + code * Long.BYTES);
+    int length = strings.getInt(offset);
+    if (length < 0) return null;
+    byte[] bytes = new byte[length];
+    strings.get(offset + Integer.BYTES, bytes);
+    // Strings are immutable, so a racing decode of the same name is harmless
+    decoded = new String(bytes, StandardCharsets.UTF_8);
+    decodedStrings[code] = decoded;
+    return decoded;
+  }
+
+  private static int encode(String name, Map<String, Integer> codes, List<String> names) {
+    Integer code = codes.get(name);
+    if (code != null) return code;
+    codes.put(name, names.size());
+    names.add(name);
+    return names.size() - 1;
+  }
+
+  private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  private final class People extends AbstractList<Person> implements RandomAccess {
+
+    @Override
+    public Person get(int index) {
+      return person(index);
+    }
+
+    @Override
+    public int size() {
+      return (int) size;
+    }
+  }
+}
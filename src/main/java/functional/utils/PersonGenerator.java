@@ -0,0 +1,197 @@
+package functional.utils;
+
+import com.google.common.base.Preconditions;
+import functional.model.Person;
+import io.vavr.control.Try;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import lombok.Builder;
+
+/*
+ * Reproducible synthetic people for load tests. Person i is drawn from its own SplittableRandom
+ * seeded from the seed and i, so any range of people (a shard) can be generated independently and
+ * the output is the same sequentially, in parallel or split across shards.
+ *
+ * Names are drawn from the name lists with Zipf weights, the name at rank r weighing
+ * 1 / (r + 1)^nameSkew (0 is uniform), so the first names of the lists are the most common. On top
+ * of that, with probability duplicateNameRate a person takes the full name of an earlier person.
+ * Dates of birth fall in [bornFrom, bornTo], uniformly for a dateOfBirthSkew of 0 and more and
+ * more towards bornTo as it grows.
+ */
+public final class PersonGenerator {
+
+  // Mary first: with the default skew she is the most common first name, as in the sample data
+  private static final List<String> DEFAULT_FIRST_NAMES =
+      List.of(
+          "Mary", "Jane", "Jason", "Anton", "Arthur", "Kevin", "Prince", "Jim", "Lori", "Samuel");
+  private static final List<String> DEFAULT_LAST_NAMES =
+      List.of(
+          "Jackson",
+          "Doe",
+          "Smith",
+          "Flintstone",
+          "Stewart",
+          "Malone",
+          "Jane",
+          "Ray",
+          "Patrick",
+          "Jamieson");
+
+  private final long seed;
+  private final List<String> firstNames;
+  private final List<String> lastNames;
+  private final double[] firstNameWeights;
+  private final double[] lastNameWeights;
+  private final long bornFrom;
+  private final long bornDays;
+  private final double dateOfBirthExponent;
+  private final double duplicateNameRate;
+
+  /*
+   * Every setting is optional: seed 42, the sample data names with a skew of 1, born between 1950
+   * and 2010 uniformly, and no duplicated full names beyond the ones the name lists produce.
+   */
+  @Builder(setterPrefix = "with")
+  private PersonGenerator(
+      Long seed,
+      List<String> firstNames,
+      List<String> lastNames,
+      Double nameSkew,
+      LocalDate bornFrom,
+      LocalDate bornTo,
+      Double dateOfBirthSkew,
+      Double duplicateNameRate) {
+    this.seed = seed == null ? 42L : seed;
+    this.firstNames = List.copyOf(firstNames == null ? DEFAULT_FIRST_NAMES : firstNames);
+    this.lastNames = List.copyOf(lastNames == null ? DEFAULT_LAST_NAMES : lastNames);
+    Preconditions.checkArgument(!this.firstNames.isEmpty(), "firstNames must not be empty");
+    Preconditions.checkArgument(!this.lastNames.isEmpty(), "lastNames must not be empty");
+
+    double skew = nameSkew == null ? 1 : nameSkew;
+    Preconditions.checkArgument(skew >= 0, "nameSkew should be positive");
+    this.firstNameWeights = cumulativeZipfWeights(this.firstNames.size(), skew);
+    this.lastNameWeights = cumulativeZipfWeights(this.lastNames.size(), skew);
+
+    LocalDate from = bornFrom == null ? LocalDate.of(1950, Month.JANUARY, 1) : bornFrom;
+    LocalDate to = bornTo == null ? LocalDate.of(2010, Month.DECEMBER, 31) : bornTo;
+    Preconditions.checkArgument(!to.isBefore(from), "bornTo must not be before bornFrom");
+    this.bornFrom = from.toEpochDay();
+    this.bornDays = to.toEpochDay() - from.toEpochDay() + 1;
+
+    double dateSkew = dateOfBirthSkew == null ? 0 : dateOfBirthSkew;
+    Preconditions.checkArgument(dateSkew >= 0, "dateOfBirthSkew should be positive");
+    this.dateOfBirthExponent = 1 / (1 + dateSkew);
+
+    this.duplicateNameRate = duplicateNameRate == null ? 0 : duplicateNameRate;
+    Preconditions.checkArgument(
+        this.duplicateNameRate >= 0 && this.duplicateNameRate <= 1,
+        "duplicateNameRate should be between 0 and 1");
+  }
+
+  /*
+   * The index-th person of the sequence.
+   */
+  public Person person(long index) {
+    Preconditions.checkArgument(index >= 0, "index should be positive");
+    SplittableRandom random = random(index);
+    LocalDate dateOfBirth = dateOfBirth(random);
+    // Follow the chain of duplicates back to the person whose name was drawn; the earlier person's
+    // generator is replayed past its date of birth so the names come out the same as for them
+    long source = index;
+    while (source > 0 && random.nextDouble() < duplicateNameRate) {
+      source = random.nextLong(source);
+      random = random(source);
+      random.nextDouble();
+    }
+    return Person.builder()
+        .withFirstName(firstNames.get(pick(firstNameWeights, random.nextDouble())))
+        .withLastName(lastNames.get(pick(lastNameWeights, random.nextDouble())))
+        .withDateOfBirth(dateOfBirth)
+        .build();
+  }
+
+  /*
+   * The first count people; the stream splits evenly when run in parallel.
+   */
+  public Stream<Person> stream(long count) {
+    Preconditions.checkArgument(count >= 0, "count should be positive");
+    return LongStream.range(0, count).mapToObj(this::person);
+  }
+
+  /*
+   * Shard number shard of shards contiguous and near equal shards of the first count people;
+   * concatenating the shards in order gives stream(count).
+   */
+  public Stream<Person> shard(long count, int shards, int shard) {
+    Preconditions.checkArgument(count >= 0, "count should be positive");
+    Preconditions.checkArgument(shards > 0, "shards should be positive");
+    Objects.checkIndex(shard, shards);
+    return LongStream.range(shardStart(count, shards, shard), shardStart(count, shards, shard + 1))
+        .mapToObj(this::person);
+  }
+
+  public Iterator<Person> iterator(long count) {
+    return stream(count).iterator();
+  }
+
+  public List<Person> people(int count) {
+    return stream(count).toList();
+  }
+
+  /*
+   * Writes the first count people as a PersonFile without holding them in memory.
+   */
+  public Try<Path> writeTo(Path path, long count) {
+    return PersonFile.write(path, iterator(count));
+  }
+
+  private SplittableRandom random(long index) {
+    // SplitMix64 finaliser over seed and index, so neighbouring people get unrelated seeds
+    long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return new SplittableRandom(z ^ (z >>> 31));
+  }
+
+  private LocalDate dateOfBirth(SplittableRandom random) {
+    double position = Math.pow(random.nextDouble(), dateOfBirthExponent);
+    return LocalDate.ofEpochDay(bornFrom + Math.min(bornDays - 1, (long) (position * bornDays)));
+  }
+
+  private static long shardStart(long count, int shards, int shard) {
+    return count / shards * shard + Math.min(shard, count % shards);
+  }
+
+  private static double[] cumulativeZipfWeights(int size, double skew) {
+    double[] weights = new double[size];
+    double total = 0;
+    for (int rank = 0; rank < size; rank++) {
+      total += 1 / Math.pow(rank + 1, skew);
+      weights[rank] = total;
+    }
+    return weights;
+  }
+
+  // First rank whose cumulative weight is above u times the total weight
+  private static int pick(double[] weights, double u) {
+    double target = u * weights[weights.length - 1];
+    int low = 0;
+    int high = weights.length - 1;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (weights[middle] > target) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return low;
+  }
+}
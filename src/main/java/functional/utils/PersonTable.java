@@ -0,0 +1,270 @@
+package functional.utils;
+
+import com.google.common.base.Preconditions;
+import functional.model.Person;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/*
+ * Column oriented copy of a list of people. Dates of birth are kept as int epoch days and names
+ * as dictionary codes (every distinct first and last name is stored once), so age queries turn a
+ * date into a single cutoff epoch day and compare ints in a tight loop, and full names are only
+ * joined for the rows that are read.
+ *
+ * Ages are whole years as Period.between(dateOfBirth, today).getYears() counts them: someone is
+ * at least n years old when born on or before today.minusYears(n).
+ */
+public final class PersonTable {
+
+  // Ages up to this are looked up in a table of cutoffs, older or unborn ones fall back to Period
+  private static final int MAX_TABULATED_AGE = 150;
+
+  private final int[] birthEpochDays;
+  private final int[] firstNameCodes;
+  private final int[] lastNameCodes;
+  private final String[] firstNames;
+  private final String[] lastNames;
+
+  PersonTable(
+      int[] birthEpochDays,
+      int[] firstNameCodes,
+      int[] lastNameCodes,
+      String[] firstNames,
+      String[] lastNames) {
+    this.birthEpochDays = birthEpochDays;
+    this.firstNameCodes = firstNameCodes;
+    this.lastNameCodes = lastNameCodes;
+    this.firstNames = firstNames;
+    this.lastNames = lastNames;
+  }
+
+  public static PersonTable of(List<Person> people) {
+    Objects.requireNonNull(people, "people must not be null");
+    int size = people.size();
+    int[] birthEpochDays = new int[size];
+    int[] firstNameCodes = new int[size];
+    int[] lastNameCodes = new int[size];
+    Dictionary firstNames = new Dictionary();
+    Dictionary lastNames = new Dictionary();
+    int row = 0;
+    for (Person person : people) {
+      Objects.requireNonNull(person, "person must not be null");
+      LocalDate dateOfBirth =
+          Objects.requireNonNull(person.getDateOfBirth(), "dateOfBirth must not be null");
+      birthEpochDays[row] = Math.toIntExact(dateOfBirth.toEpochDay());
+      firstNameCodes[row] = firstNames.encode(person.getFirstName());
+      lastNameCodes[row] = lastNames.encode(person.getLastName());
+      row++;
+    }
+    return new PersonTable(
+        birthEpochDays,
+        firstNameCodes,
+        lastNameCodes,
+        firstNames.values(),
+        lastNames.values());
+  }
+
+  public int size() {
+    return birthEpochDays.length;
+  }
+
+  public int birthEpochDay(int row) {
+    return birthEpochDays[row];
+  }
+
+  public LocalDate dateOfBirth(int row) {
+    return LocalDate.ofEpochDay(birthEpochDays[row]);
+  }
+
+  public String firstName(int row) {
+    return firstNames[firstNameCodes[row]];
+  }
+
+  public String lastName(int row) {
+    return lastNames[lastNameCodes[row]];
+  }
+
+  public String fullName(int row) {
+    return String.join(" ", firstName(row), lastName(row));
+  }
+
+  public Person person(int row) {
+    return Person.builder()
+        .withFirstName(firstName(row))
+        .withLastName(lastName(row))
+        .withDateOfBirth(dateOfBirth(row))
+        .build();
+  }
+
+  public int age(int row, LocalDate today) {
+    Objects.requireNonNull(today, "today must not be null");
+    return Period.between(dateOfBirth(row), today).getYears();
+  }
+
+  public int[] ages(LocalDate today) {
+    Ages ages = agesAsOf(today);
+    int[] result = new int[size()];
+    for (int row = 0; row < result.length; row++) {
+      result[row] = ages.of(birthEpochDays[row]);
+    }
+    return result;
+  }
+
+  /*
+   * Rows of people who are at least age years old today, in table order.
+   */
+  public int[] rowsAtLeast(int age, LocalDate today) {
+    return rowsBornOnOrBefore(cutoff(age, today), true);
+  }
+
+  /*
+   * Rows of people who are younger than age years today, in table order.
+   */
+  public int[] rowsBelow(int age, LocalDate today) {
+    return rowsBornOnOrBefore(cutoff(age, today), false);
+  }
+
+  /*
+   * Full names of the people at least age years old (true) and younger (false). The lists are
+   * views that join a name when it is read.
+   */
+  public Map<Boolean, List<String>> partitionByAge(int age, LocalDate today) {
+    int cutoff = cutoff(age, today);
+    return Map.of(
+        true, fullNames(rowsBornOnOrBefore(cutoff, true)),
+        false, fullNames(rowsBornOnOrBefore(cutoff, false)));
+  }
+
+  /*
+   * Full name -> age; like Collectors.toMap, a full name that appears twice is an error.
+   */
+  public Map<String, Integer> fullNameAndAge(LocalDate today) {
+    Ages ages = agesAsOf(today);
+    Map<String, Integer> fullNameAndAge = new HashMap<>(capacityFor(size()));
+    for (int row = 0; row < size(); row++) {
+      String fullName = fullName(row);
+      int age = ages.of(birthEpochDays[row]);
+      Integer previous = fullNameAndAge.putIfAbsent(fullName, age);
+      if (previous != null) {
+        throw new IllegalStateException(
+            String.format(
+                "Duplicate key %s (attempted merging values %s and %s)", fullName, previous, age));
+      }
+    }
+    return fullNameAndAge;
+  }
+
+  public List<String> fullNames(int[] rows) {
+    Objects.requireNonNull(rows, "rows must not be null");
+    return new FullNames(rows);
+  }
+
+  private int[] rowsBornOnOrBefore(int cutoff, boolean onOrBefore) {
+    int[] days = birthEpochDays;
+    int count = 0;
+    for (int day : days) {
+      count += (day <= cutoff) == onOrBefore ? 1 : 0;
+    }
+    int[] rows = new int[count];
+    for (int row = 0, next = 0; next < count; row++) {
+      if ((days[row] <= cutoff) == onOrBefore) rows[next++] = row;
+    }
+    return rows;
+  }
+
+  private static int cutoff(int age, LocalDate today) {
+    Preconditions.checkArgument(age >= 0, "age should be positive");
+    Objects.requireNonNull(today, "today must not be null");
+    return (int) Math.max(Integer.MIN_VALUE, today.minusYears(age).toEpochDay());
+  }
+
+  private static Ages agesAsOf(LocalDate today) {
+    Objects.requireNonNull(today, "today must not be null");
+    return new Ages(today);
+  }
+
+  private static int capacityFor(int entries) {
+    return (int) Math.min(Integer.MAX_VALUE, entries * 4L / 3 + 1);
+  }
+
+  /*
+   * cutoffs[n] is today.minusYears(n) as an epoch day, so the age for a birth day is the last n
+   * whose cutoff is on or after it.
+   */
+  private static final class Ages {
+
+    private final LocalDate today;
+    private final long[] cutoffs = new long[MAX_TABULATED_AGE + 1];
+
+    Ages(LocalDate today) {
+      this.today = today;
+      for (int n = 0; n <= MAX_TABULATED_AGE; n++) {
+        cutoffs[n] = today.minusYears(n).toEpochDay();
+      }
+    }
+
+    int of(int birthEpochDay) {
+      if (birthEpochDay > cutoffs[0] || birthEpochDay <= cutoffs[MAX_TABULATED_AGE]) {
+        return Period.between(LocalDate.ofEpochDay(birthEpochDay), today).getYears();
+      }
+      // cutoffs is descending: find the last one on or after the birth day
+      int low = 0;
+      int high = MAX_TABULATED_AGE;
+      while (low < high) {
+        int middle = (low + high + 1) >>> 1;
+        if (cutoffs[middle] >= birthEpochDay) {
+          low = middle;
+        } else {
+          high = middle - 1;
+        }
+      }
+      return low;
+    }
+  }
+
+  private final class FullNames extends AbstractList<String> implements RandomAccess {
+
+    private final int[] rows;
+
+    FullNames(int[] rows) {
+      this.rows = rows;
+    }
+
+    @Override
+    public String get(int index) {
+      return fullName(rows[index]);
+    }
+
+    @Override
+    public int size() {
+      return rows.length;
+    }
+  }
+
+  private static final class Dictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private String[] values = new String[16];
+
+    int encode(String value) {
+      Integer code = codes.get(value);
+      if (code != null) return code;
+      int next = codes.size();
+      if (next == values.length) values = Arrays.copyOf(values, next * 2);
+      values[next] = value;
+      codes.put(value, next);
+      return next;
+    }
+
+    String[] values() {
+      return Arrays.copyOf(values, codes.size());
+    }
+  }
+}
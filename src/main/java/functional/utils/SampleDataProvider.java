@@ -65,4 +65,11 @@ public class SampleDataProvider {
             .withDateOfBirth(LocalDate.of(2007, Month.OCTOBER, 3))
             .build());
   }
+
+  /*
+   * count generated people for load tests, the same ones for the same seed.
+   */
+  public static List<Person> getPeople(long seed, int count) {
+    return PersonGenerator.builder().withSeed(seed).build().people(count);
+  }
 }
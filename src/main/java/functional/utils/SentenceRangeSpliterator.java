@@ -0,0 +1,151 @@
+package functional.utils;
+
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/*
+ * Splittable view of the sentences of a byte range of a file. Splits cut the range in half and
+ * move the cut forward to just past the next '.', '\n' or '\r', so every range starts on a
+ * sentence boundary and no sentence is read twice. Those bytes never occur inside a multi-byte
+ * UTF-8 sequence, so the cut is also a valid decoding boundary.
+ *
+ * The size reported is the number of bytes left in the range: sentence counts are unknown until
+ * the range is read, while bytes are exact and proportional to the work left, which is what the
+ * fork-join framework balances on.
+ *
+ * A range maps its windows when it is first read and unmaps them once it is read to the end. A
+ * short-circuiting operation leaves ranges half read, so the ranges split from one root are
+ * tracked and close, called from the stream's onClose, unmaps the ones still mapped. Reading a
+ * range holds its lock, which keeps close from unmapping a window another thread is reading.
+ */
+final class SentenceRangeSpliterator implements Spliterator<String> {
+
+  static final long DEFAULT_MIN_SPLIT_BYTES = 1 << 20;
+  private static final int SCAN_BUFFER_SIZE = 1 << 12;
+
+  private final FileChannel channel;
+  private final long minSplitBytes;
+  private final int windowSize;
+  private final long end;
+  // Mapped ranges of the root and every range split from it
+  private final Set<SentenceRangeSpliterator> mapped;
+  private long start;
+  private MappedSentenceSpliterator sentences;
+  private boolean closed;
+
+  SentenceRangeSpliterator(
+      FileChannel channel, long start, long end, long minSplitBytes, int windowSize) {
+    this(channel, start, end, minSplitBytes, windowSize, ConcurrentHashMap.newKeySet());
+  }
+
+  private SentenceRangeSpliterator(
+      FileChannel channel,
+      long start,
+      long end,
+      long minSplitBytes,
+      int windowSize,
+      Set<SentenceRangeSpliterator> mapped) {
+    Preconditions.checkArgument(minSplitBytes > 0, "minSplitBytes should be positive");
+    this.channel = channel;
+    this.start = start;
+    this.end = end;
+    this.minSplitBytes = minSplitBytes;
+    this.windowSize = windowSize;
+    this.mapped = mapped;
+  }
+
+  @Override
+  public synchronized boolean tryAdvance(Consumer<? super String> action) {
+    return advance(action);
+  }
+
+  @Override
+  public synchronized void forEachRemaining(Consumer<? super String> action) {
+    while (advance(action)) {}
+  }
+
+  /*
+   * Unmaps the windows of every range split from this one that has not been read to the end;
+   * they read no further.
+   */
+  void close() {
+    for (SentenceRangeSpliterator range : mapped) {
+      synchronized (range) {
+        range.closed = true;
+        range.unmap();
+      }
+    }
+  }
+
+  // Number of ranges with mapped windows
+  int mappedRanges() {
+    return mapped.size();
+  }
+
+  private boolean advance(Consumer<? super String> action) {
+    if (closed) return false;
+    if (sentences == null) {
+      if (start == end) return false;
+      sentences = new MappedSentenceSpliterator(channel, start, end, windowSize);
+      mapped.add(this);
+    }
+    if (sentences.tryAdvance(action)) return true;
+    unmap();
+    start = end;
+    return false;
+  }
+
+  private void unmap() {
+    if (sentences == null) return;
+    sentences.close();
+    sentences = null;
+    mapped.remove(this);
+  }
+
+  @Override
+  public synchronized Spliterator<String> trySplit() {
+    if (closed || sentences != null || end - start < 2 * minSplitBytes) return null;
+    long boundary = nextSentenceStart(start + (end - start) / 2);
+    if (boundary >= end) return null;
+    Spliterator<String> prefix =
+        new SentenceRangeSpliterator(channel, start, boundary, minSplitBytes, windowSize, mapped);
+    start = boundary;
+    return prefix;
+  }
+
+  @Override
+  public long estimateSize() {
+    return end - start;
+  }
+
+  @Override
+  public int characteristics() {
+    return Spliterator.ORDERED | Spliterator.NONNULL;
+  }
+
+  private long nextSentenceStart(long position) {
+    ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+    try {
+      while (position < end) {
+        buffer.clear().limit((int) Math.min(SCAN_BUFFER_SIZE, end - position));
+        int read = channel.read(buffer, position);
+        if (read < 0) return end;
+        for (int i = 0; i < read; i++) {
+          byte b = buffer.get(i);
+          if (b == '.' || b == '\n' || b == '\r') return position + i + 1;
+        }
+        position += read;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return end;
+  }
+}
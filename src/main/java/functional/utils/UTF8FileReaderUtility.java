@@ -1,12 +1,16 @@
 package functional.utils;
 
 import io.vavr.control.Try;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -25,4 +29,59 @@ public class UTF8FileReaderUtility {
         .onFailure(ex -> log.error("Exception occurred {0}", ex))
         .getOrElseGet(e -> Collections.emptyList());
   }
+
+  /*
+   * Lazy counterpart of getFileContentsAsSentencesFromResources for files that do not fit in
+   * memory. The file is memory mapped window by window and decoded as the stream is consumed;
+   * blank sentences are skipped. Close the stream (try-with-resources) to release the mapping.
+   */
+  public static Stream<String> streamFileContentsAsSentences(String directory, String fileName) {
+    return streamFileContentsAsSentences(
+        directory, fileName, MappedSentenceSpliterator.DEFAULT_WINDOW_SIZE);
+  }
+
+  static Stream<String> streamFileContentsAsSentences(
+      String directory, String fileName, int windowSize) {
+    Objects.requireNonNull(directory, "directory cannot be null");
+    Objects.requireNonNull(fileName, "fileName cannot be null");
+    return Try.of(() -> new MappedSentenceSpliterator(Path.of(directory, fileName), windowSize))
+        .map(sentences -> StreamSupport.stream(sentences, false).onClose(sentences::close))
+        .onFailure(ex -> log.error("Exception occurred {0}", ex))
+        .getOrElseGet(e -> Stream.empty());
+  }
+
+  /*
+   * Parallel counterpart of streamFileContentsAsSentences. The file is split into byte ranges
+   * aligned on sentence boundaries that the fork-join pool reads concurrently; encounter order is
+   * still the file order. Close the stream to release the file.
+   */
+  public static Stream<String> streamFileContentsAsSentencesInParallel(
+      String directory, String fileName) {
+    return streamFileContentsAsSentencesInParallel(
+        directory,
+        fileName,
+        SentenceRangeSpliterator.DEFAULT_MIN_SPLIT_BYTES,
+        MappedSentenceSpliterator.DEFAULT_WINDOW_SIZE);
+  }
+
+  static Stream<String> streamFileContentsAsSentencesInParallel(
+      String directory, String fileName, long minSplitBytes, int windowSize) {
+    Objects.requireNonNull(directory, "directory cannot be null");
+    Objects.requireNonNull(fileName, "fileName cannot be null");
+    return Try.of(() -> FileChannel.open(Path.of(directory, fileName), StandardOpenOption.READ))
+        .mapTry(
+            channel -> {
+              SentenceRangeSpliterator sentences =
+                  new SentenceRangeSpliterator(
+                      channel, 0, channel.size(), minSplitBytes, windowSize);
+              return StreamSupport.stream(sentences, true)
+                  .onClose(
+                      () -> {
+                        sentences.close();
+                        Try.run(channel::close);
+                      });
+            })
+        .onFailure(ex -> log.error("Exception occurred {0}", ex))
+        .getOrElseGet(e -> Stream.empty());
+  }
 }
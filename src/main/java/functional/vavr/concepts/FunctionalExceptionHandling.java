@@ -2,6 +2,7 @@ package functional.vavr.concepts;
 
 import io.vavr.control.Try;
 import java.net.URL;
+import java.time.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,20 +13,30 @@ public class FunctionalExceptionHandling {
 
   private static final Logger logger = LoggerFactory.getLogger(FunctionalExceptionHandling.class);
 
+  // Outcomes are counted rather than logged one by one; failures are logged once a second at most
+  private final TryMetrics metrics = new TryMetrics(logger, Duration.ofSeconds(1));
+
   /*`
    * Side Effects, exception is not thrown
    * Interesting Read: http://wiki.c2.com/?DontUseExceptionsForFlowControl
    */
   public Try<Double> divide(double dividend, double divisor) {
-    return Try.of(() -> dividend / divisor)
-        .onSuccess(
-            success -> logger.info("Result calculated successfully and result is: {}", success))
-        .onFailure(error -> logger.error("Error occurred {} ", error.getMessage()));
+    return metrics.record("divide", () -> dividend / divisor);
   }
 
   public Try<URL> validateURL(String url) {
-    return Try.of(() -> new URL(url))
-        .onSuccess(success -> logger.info("URL {} parsed successfully", url))
-        .onFailure(error -> logger.error("Error occurred {} ", error.getMessage()));
+    return metrics.record("validateURL", () -> new URL(url));
+  }
+
+  /*
+   * Batch counterpart of validateURL: a syntax check in parallel over all the urls, returning a
+   * validity BitSet and error codes instead of a Try<URL> each. See UrlValidator.
+   */
+  public UrlValidation validateURLs(String[] urls) {
+    return UrlValidator.validate(urls);
+  }
+
+  public TryMetrics metrics() {
+    return metrics;
   }
 }
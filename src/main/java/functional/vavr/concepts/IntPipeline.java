@@ -0,0 +1,77 @@
+package functional.vavr.concepts;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+/*
+ * Pipeline of int stages: the same fuse-once chain as Pipeline, but values are ints from the
+ * first stage to the last, so a numeric chain never boxes.
+ */
+public final class IntPipeline {
+
+  private static final IntPipeline IDENTITY = new IntPipeline(new IntUnaryOperator[0]);
+
+  private final IntUnaryOperator[] stages;
+
+  private IntPipeline(IntUnaryOperator[] stages) {
+    this.stages = stages;
+  }
+
+  public static IntPipeline identity() {
+    return IDENTITY;
+  }
+
+  public static IntPipeline of(IntUnaryOperator stage) {
+    return IDENTITY.then(stage);
+  }
+
+  public IntPipeline then(IntUnaryOperator stage) {
+    Objects.requireNonNull(stage, "stage cannot be null");
+    IntUnaryOperator[] next = Arrays.copyOf(stages, stages.length + 1);
+    next[stages.length] = stage;
+    return new IntPipeline(next);
+  }
+
+  public int size() {
+    return stages.length;
+  }
+
+  public IntUnaryOperator fuse() {
+    IntUnaryOperator[] fused = stages;
+    switch (fused.length) {
+      case 0:
+        return value -> value;
+      case 1:
+        return fused[0];
+      case 2:
+        IntUnaryOperator first = fused[0];
+        IntUnaryOperator second = fused[1];
+        return value -> second.applyAsInt(first.applyAsInt(value));
+      default:
+        return value -> {
+          int result = value;
+          for (IntUnaryOperator stage : fused) {
+            result = stage.applyAsInt(result);
+          }
+          return result;
+        };
+    }
+  }
+
+  public int[] apply(int[] items) {
+    Objects.requireNonNull(items, "items cannot be null");
+    IntUnaryOperator fused = fuse();
+    int[] results = new int[items.length];
+    for (int i = 0; i < items.length; i++) {
+      results[i] = fused.applyAsInt(items[i]);
+    }
+    return results;
+  }
+
+  public IntStream apply(IntStream items) {
+    Objects.requireNonNull(items, "items cannot be null");
+    return items.map(fuse());
+  }
+}
@@ -0,0 +1,106 @@
+package functional.vavr.concepts;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/*
+ * Lock-free histogram of non-negative values (latencies in nanoseconds), bucketed the way
+ * HdrHistogram does it: values below 32 get a bucket each, and every power of two above is split
+ * into 32 buckets, so a recorded value is reported within about 3% of itself whatever its
+ * magnitude. Recording is one bucket index computation and one atomic increment.
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  // The direct buckets below 32, then one row of sub buckets per power of two from 2^5 to 2^62
+  private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+  public void record(long value) {
+    Preconditions.checkArgument(value >= 0, "value should be positive");
+    counts.incrementAndGet(bucket(value));
+    max.accumulate(value);
+  }
+
+  /*
+   * Consistent enough copy of the counts to read percentiles from; recordings that race with it
+   * may or may not be included.
+   */
+  public Snapshot snapshot() {
+    long[] copy = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      copy[i] = counts.get(i);
+    }
+    return new Snapshot(copy, max.get());
+  }
+
+  static int bucket(long value) {
+    if (value < SUB_BUCKETS) return (int) value;
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int top = (int) (value >>> (exponent - SUB_BUCKET_BITS));
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + top - SUB_BUCKETS;
+  }
+
+  // Largest value that falls in the bucket
+  static long highestValueIn(int bucket) {
+    if (bucket < SUB_BUCKETS) return bucket;
+    int shift = bucket / SUB_BUCKETS - 1;
+    long top = bucket % SUB_BUCKETS + SUB_BUCKETS;
+    return ((top + 1) << shift) - 1;
+  }
+
+  public static final class Snapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long max;
+
+    private Snapshot(long[] counts, long max) {
+      this.counts = counts;
+      long total = 0;
+      for (long bucketCount : counts) total += bucketCount;
+      this.count = total;
+      this.max = max;
+    }
+
+    public long count() {
+      return count;
+    }
+
+    public long max() {
+      return max;
+    }
+
+    /*
+     * Value at or below which percentile percent of the recorded values fall, as the highest
+     * value of its bucket (capped by the maximum); 0 when nothing was recorded.
+     */
+    public long valueAtPercentile(double percentile) {
+      Preconditions.checkArgument(
+          percentile >= 0 && percentile <= 100, "percentile should be between 0 and 100");
+      if (count == 0) return 0;
+      long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+      long seen = 0;
+      for (int bucket = 0; bucket < counts.length; bucket++) {
+        seen += counts[bucket];
+        if (seen >= rank) return Math.min(max, highestValueIn(bucket));
+      }
+      return max;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "count=%d p50=%d p99=%d p999=%d max=%d",
+          count,
+          valueAtPercentile(50),
+          valueAtPercentile(99),
+          valueAtPercentile(99.9),
+          max);
+    }
+  }
+}
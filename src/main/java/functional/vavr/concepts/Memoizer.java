@@ -0,0 +1,143 @@
+package functional.vavr.concepts;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.vavr.Function1;
+import io.vavr.Function2;
+import io.vavr.Tuple;
+import io.vavr.control.Option;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import lombok.Builder;
+
+/*
+ * Bounded alternative to Function1.memoized(), which keeps every result forever behind a single
+ * lock. Results are kept in a Guava cache: segmented so threads only contend on the same segment,
+ * evicting the least recently used entries of a segment beyond maximumSize, optionally expiring
+ * them expireAfterWrite after they were computed, and loading single-flight: concurrent calls
+ * with the same missing argument wait for one computation. Hits, misses and evictions are
+ * counted in stats().
+ *
+ * null arguments and results are memoized like any other; an exception thrown by the function
+ * is rethrown to every waiting caller and nothing is cached.
+ */
+public final class Memoizer {
+
+  // Stands for a null argument, which the cache does not accept as a key
+  private static final Object NULL_KEY = new Object();
+
+  private final long maximumSize;
+  private final Duration expireAfterWrite;
+  private final Ticker ticker;
+
+  /*
+   * maximumSize is required; expireAfterWrite is off unless set, and ticker is only there to
+   * control time in tests.
+   */
+  @Builder(setterPrefix = "with")
+  private Memoizer(Long maximumSize, Duration expireAfterWrite, Ticker ticker) {
+    Objects.requireNonNull(maximumSize, "maximumSize must not be null");
+    Preconditions.checkArgument(maximumSize > 0, "maximumSize should be positive");
+    Preconditions.checkArgument(
+        expireAfterWrite == null || expireAfterWrite.compareTo(Duration.ZERO) > 0,
+        "expireAfterWrite should be positive");
+    this.maximumSize = maximumSize;
+    this.expireAfterWrite = expireAfterWrite;
+    this.ticker = ticker == null ? Ticker.systemTicker() : ticker;
+  }
+
+  public <T, R> MemoizedFunction1<T, R> memoize(Function1<T, R> function) {
+    Objects.requireNonNull(function, "function must not be null");
+    return new MemoizedFunction1<>(function, newCache());
+  }
+
+  public <T1, T2, R> MemoizedFunction2<T1, T2, R> memoize(Function2<T1, T2, R> function) {
+    Objects.requireNonNull(function, "function must not be null");
+    return new MemoizedFunction2<>(function, newCache());
+  }
+
+  private <R> Cache<Object, Option<R>> newCache() {
+    CacheBuilder<Object, Object> builder =
+        CacheBuilder.newBuilder().maximumSize(maximumSize).ticker(ticker).recordStats();
+    if (expireAfterWrite != null) builder.expireAfterWrite(expireAfterWrite);
+    return builder.build();
+  }
+
+  private static <R> R get(Cache<Object, Option<R>> cache, Object key, Function1<Object, R> load) {
+    try {
+      return cache.get(key, () -> Option.of(load.apply(key))).getOrNull();
+    } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  public static final class MemoizedFunction1<T, R> implements Function1<T, R> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Function1<T, R> function;
+    private final transient Cache<Object, Option<R>> cache;
+
+    private MemoizedFunction1(Function1<T, R> function, Cache<Object, Option<R>> cache) {
+      this.function = function;
+      this.cache = cache;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public R apply(T argument) {
+      Object key = argument == null ? NULL_KEY : argument;
+      return get(cache, key, k -> function.apply(k == NULL_KEY ? null : (T) k));
+    }
+
+    public CacheStats stats() {
+      return cache.stats();
+    }
+
+    public long size() {
+      return cache.size();
+    }
+
+    public void invalidateAll() {
+      cache.invalidateAll();
+    }
+  }
+
+  public static final class MemoizedFunction2<T1, T2, R> implements Function2<T1, T2, R> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Function2<T1, T2, R> function;
+    private final transient Cache<Object, Option<R>> cache;
+
+    private MemoizedFunction2(Function2<T1, T2, R> function, Cache<Object, Option<R>> cache) {
+      this.function = function;
+      this.cache = cache;
+    }
+
+    @Override
+    public R apply(T1 first, T2 second) {
+      return get(cache, Tuple.of(first, second), key -> function.apply(first, second));
+    }
+
+    public CacheStats stats() {
+      return cache.stats();
+    }
+
+    public long size() {
+      return cache.size();
+    }
+
+    public void invalidateAll() {
+      cache.invalidateAll();
+    }
+  }
+}
@@ -0,0 +1,339 @@
+package functional.vavr.concepts;
+
+import io.vavr.Function1;
+import io.vavr.control.Option;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/*
+ * Columnar List<Option<U>>: which positions are defined is a bitmap, and the defined values are
+ * packed in order in a dense array, so lifting a batch allocates two arrays instead of a Some or
+ * None per element. A position's value is found through a rank index over the bitmap (the number
+ * of defined positions before each 64 bit word), so get is constant time.
+ *
+ * lift applies a function the way Function1.lift does: a non-fatal throwable, errors included,
+ * leaves the position empty and a null result is a defined null. OfInt, OfLong and OfDouble keep
+ * primitive values unboxed.
+ */
+public final class OptionVector<U> {
+
+  private final Defined defined;
+  private final Object[] values;
+
+  private OptionVector(Defined defined, Object[] values) {
+    this.defined = defined;
+    this.values = values;
+  }
+
+  public static <T, U> OptionVector<U> lift(
+      List<? extends T> items, Function1<? super T, ? extends U> function) {
+    Objects.requireNonNull(items, "items cannot be null");
+    Objects.requireNonNull(function, "function cannot be null");
+    Object[] values = new Object[items.size()];
+    Defined defined = liftEach(items, (item, next) -> values[next] = function.apply(item));
+    return new OptionVector<>(defined, Arrays.copyOf(values, defined.count));
+  }
+
+  public static <T> OfInt liftToInt(List<? extends T> items, ToIntFunction<? super T> function) {
+    Objects.requireNonNull(items, "items cannot be null");
+    Objects.requireNonNull(function, "function cannot be null");
+    int[] values = new int[items.size()];
+    Defined defined = liftEach(items, (item, next) -> values[next] = function.applyAsInt(item));
+    return new OfInt(defined, Arrays.copyOf(values, defined.count));
+  }
+
+  public static <T> OfLong liftToLong(List<? extends T> items, ToLongFunction<? super T> function) {
+    Objects.requireNonNull(items, "items cannot be null");
+    Objects.requireNonNull(function, "function cannot be null");
+    long[] values = new long[items.size()];
+    Defined defined = liftEach(items, (item, next) -> values[next] = function.applyAsLong(item));
+    return new OfLong(defined, Arrays.copyOf(values, defined.count));
+  }
+
+  public static <T> OfDouble liftToDouble(
+      List<? extends T> items, ToDoubleFunction<? super T> function) {
+    Objects.requireNonNull(items, "items cannot be null");
+    Objects.requireNonNull(function, "function cannot be null");
+    double[] values = new double[items.size()];
+    Defined defined = liftEach(items, (item, next) -> values[next] = function.applyAsDouble(item));
+    return new OfDouble(defined, Arrays.copyOf(values, defined.count));
+  }
+
+  public int size() {
+    return defined.size;
+  }
+
+  public boolean isDefined(int index) {
+    return defined.get(index);
+  }
+
+  public int definedCount() {
+    return values.length;
+  }
+
+  @SuppressWarnings("unchecked")
+  public U getOrElse(int index, U other) {
+    return defined.get(index) ? (U) values[defined.rank(index)] : other;
+  }
+
+  @SuppressWarnings("unchecked")
+  public Option<U> get(int index) {
+    return defined.get(index) ? Option.some((U) values[defined.rank(index)]) : Option.none();
+  }
+
+  /*
+   * The defined values in order, as a view over the dense array.
+   */
+  @SuppressWarnings("unchecked")
+  public List<U> definedValues() {
+    return (List<U>) Collections.unmodifiableList(Arrays.asList(values));
+  }
+
+  /*
+   * Calls action with every defined value and its position, in order.
+   */
+  @SuppressWarnings("unchecked")
+  public void forEachDefined(ObjIntConsumer<? super U> action) {
+    Objects.requireNonNull(action, "action cannot be null");
+    int next = 0;
+    for (int index = defined.next(0); index >= 0; index = defined.next(index + 1)) {
+      action.accept((U) values[next++], index);
+    }
+  }
+
+  /*
+   * List<Option<U>> view; the Option of a position is only created when it is read.
+   */
+  public List<Option<U>> asOptions() {
+    return new Options();
+  }
+
+  /*
+   * Calls store with every item and the index of the next defined value; the item's position is
+   * defined when store returns normally. Like Try, fatal throwables are rethrown and every other
+   * one, errors included, leaves the position empty.
+   */
+  private static <T> Defined liftEach(List<? extends T> items, ObjIntConsumer<T> store) {
+    Defined.Builder defined = new Defined.Builder(items.size());
+    for (T item : items) {
+      try {
+        store.accept(item, defined.count);
+        defined.next(true);
+      } catch (Throwable t) {
+        if (isFatal(t)) throw sneakyThrow(t);
+        defined.next(false);
+      }
+    }
+    return defined.build();
+  }
+
+  // Same set as Try's
+  private static boolean isFatal(Throwable t) {
+    return t instanceof InterruptedException
+        || t instanceof LinkageError
+        || t instanceof ThreadDeath
+        || t instanceof VirtualMachineError;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <X extends Throwable> X sneakyThrow(Throwable t) throws X {
+    throw (X) t;
+  }
+
+  private final class Options extends AbstractList<Option<U>> implements RandomAccess {
+
+    @Override
+    public Option<U> get(int index) {
+      return OptionVector.this.get(index);
+    }
+
+    @Override
+    public int size() {
+      return defined.size;
+    }
+  }
+
+  public static final class OfInt {
+
+    private final Defined defined;
+    private final int[] values;
+
+    private OfInt(Defined defined, int[] values) {
+      this.defined = defined;
+      this.values = values;
+    }
+
+    public int size() {
+      return defined.size;
+    }
+
+    public boolean isDefined(int index) {
+      return defined.get(index);
+    }
+
+    public int definedCount() {
+      return values.length;
+    }
+
+    public int getOrElse(int index, int other) {
+      return defined.get(index) ? values[defined.rank(index)] : other;
+    }
+
+    public Option<Integer> get(int index) {
+      return defined.get(index) ? Option.some(values[defined.rank(index)]) : Option.none();
+    }
+
+    public IntStream definedValues() {
+      return Arrays.stream(values);
+    }
+  }
+
+  public static final class OfLong {
+
+    private final Defined defined;
+    private final long[] values;
+
+    private OfLong(Defined defined, long[] values) {
+      this.defined = defined;
+      this.values = values;
+    }
+
+    public int size() {
+      return defined.size;
+    }
+
+    public boolean isDefined(int index) {
+      return defined.get(index);
+    }
+
+    public int definedCount() {
+      return values.length;
+    }
+
+    public long getOrElse(int index, long other) {
+      return defined.get(index) ? values[defined.rank(index)] : other;
+    }
+
+    public Option<Long> get(int index) {
+      return defined.get(index) ? Option.some(values[defined.rank(index)]) : Option.none();
+    }
+
+    public LongStream definedValues() {
+      return Arrays.stream(values);
+    }
+  }
+
+  public static final class OfDouble {
+
+    private final Defined defined;
+    private final double[] values;
+
+    private OfDouble(Defined defined, double[] values) {
+      this.defined = defined;
+      this.values = values;
+    }
+
+    public int size() {
+      return defined.size;
+    }
+
+    public boolean isDefined(int index) {
+      return defined.get(index);
+    }
+
+    public int definedCount() {
+      return values.length;
+    }
+
+    public double getOrElse(int index, double other) {
+      return defined.get(index) ? values[defined.rank(index)] : other;
+    }
+
+    public Option<Double> get(int index) {
+      return defined.get(index) ? Option.some(values[defined.rank(index)]) : Option.none();
+    }
+
+    public DoubleStream definedValues() {
+      return Arrays.stream(values);
+    }
+  }
+
+  /*
+   * Bitmap of the defined positions with the number of defined positions before each word.
+   */
+  private static final class Defined {
+
+    private final int size;
+    private final int count;
+    private final long[] words;
+    private final int[] ranks;
+
+    private Defined(int size, int count, long[] words) {
+      this.size = size;
+      this.count = count;
+      this.words = words;
+      this.ranks = new int[words.length];
+      for (int word = 1; word < words.length; word++) {
+        ranks[word] = ranks[word - 1] + Long.bitCount(words[word - 1]);
+      }
+    }
+
+    boolean get(int index) {
+      Objects.checkIndex(index, size);
+      return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    // Number of defined positions before index
+    int rank(int index) {
+      return ranks[index >>> 6] + Long.bitCount(words[index >>> 6] & ((1L << index) - 1));
+    }
+
+    // First defined position at or after from, -1 if there is none
+    int next(int from) {
+      if (from >= size) return -1;
+      int word = from >>> 6;
+      long bits = words[word] & (-1L << from);
+      while (bits == 0) {
+        if (++word == words.length) return -1;
+        bits = words[word];
+      }
+      return word * 64 + Long.numberOfTrailingZeros(bits);
+    }
+
+    static final class Builder {
+
+      private final int size;
+      private final long[] words;
+      private int index;
+      private int count;
+
+      Builder(int size) {
+        this.size = size;
+        this.words = new long[(size + 63) >>> 6];
+      }
+
+      void next(boolean defined) {
+        if (defined) {
+          words[index >>> 6] |= 1L << index;
+          count++;
+        }
+        index++;
+      }
+
+      Defined build() {
+        return new Defined(size, count, words);
+      }
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package functional.vavr.concepts;
+
+import io.vavr.Function1;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+/*
+ * Chain of Function1 stages of any length, fused once into a single function that runs the
+ * stages in a loop, instead of nesting compose calls or composing per element. Pipelines are
+ * immutable: then returns a new pipeline and leaves this one as it is.
+ *
+ *   Pipeline.of(parse).then(a -> a * 10).then(a -> a + 1).apply(items)
+ *
+ * Numeric stretches go through an IntPipeline (thenInts) so the values stay ints between those
+ * stages.
+ */
+public final class Pipeline<T, R> {
+
+  private static final Pipeline<?, ?> IDENTITY = new Pipeline<>(newStages(0));
+
+  private final Function1<Object, Object>[] stages;
+
+  private Pipeline(Function1<Object, Object>[] stages) {
+    this.stages = stages;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T> Pipeline<T, T> identity() {
+    return (Pipeline<T, T>) IDENTITY;
+  }
+
+  public static <T, R> Pipeline<T, R> of(Function1<? super T, ? extends R> stage) {
+    return Pipeline.<T>identity().then(stage);
+  }
+
+  @SuppressWarnings("unchecked")
+  public <V> Pipeline<T, V> then(Function1<? super R, ? extends V> stage) {
+    Objects.requireNonNull(stage, "stage cannot be null");
+    Function1<Object, Object>[] next = Arrays.copyOf(stages, stages.length + 1);
+    next[stages.length] = (Function1<Object, Object>) stage;
+    return new Pipeline<>(next);
+  }
+
+  /*
+   * Appends int stages as one stage: the value is converted to an int once, runs through all of
+   * ints without boxing and is converted back at the end.
+   */
+  public <V> Pipeline<T, V> thenInts(
+      ToIntFunction<? super R> toInt, IntPipeline ints, IntFunction<? extends V> fromInt) {
+    Objects.requireNonNull(toInt, "toInt cannot be null");
+    Objects.requireNonNull(ints, "ints cannot be null");
+    Objects.requireNonNull(fromInt, "fromInt cannot be null");
+    IntUnaryOperator fused = ints.fuse();
+    return then(value -> fromInt.apply(fused.applyAsInt(toInt.applyAsInt(value))));
+  }
+
+  public int size() {
+    return stages.length;
+  }
+
+  /*
+   * The whole chain as one function; fuse once and reuse it rather than per element.
+   */
+  @SuppressWarnings("unchecked")
+  public Function1<T, R> fuse() {
+    Function1<Object, Object>[] fused = stages;
+    switch (fused.length) {
+      case 0:
+        return value -> (R) value;
+      case 1:
+        return (Function1<T, R>) fused[0];
+      case 2:
+        Function1<Object, Object> first = fused[0];
+        Function1<Object, Object> second = fused[1];
+        return value -> (R) second.apply(first.apply(value));
+      default:
+        return value -> {
+          Object result = value;
+          for (Function1<Object, Object> stage : fused) {
+            result = stage.apply(result);
+          }
+          return (R) result;
+        };
+    }
+  }
+
+  public List<R> apply(List<? extends T> items) {
+    Objects.requireNonNull(items, "items cannot be null");
+    return items.stream().map(fuse()).toList();
+  }
+
+  public Stream<R> apply(Stream<? extends T> items) {
+    Objects.requireNonNull(items, "items cannot be null");
+    return items.map(fuse());
+  }
+
+  public R[] apply(T[] items, IntFunction<R[]> generator) {
+    Objects.requireNonNull(items, "items cannot be null");
+    Objects.requireNonNull(generator, "generator cannot be null");
+    Function1<T, R> fused = fuse();
+    R[] results = generator.apply(items.length);
+    for (int i = 0; i < items.length; i++) {
+      results[i] = fused.apply(items[i]);
+    }
+    return results;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Function1<Object, Object>[] newStages(int length) {
+    return (Function1<Object, Object>[]) new Function1<?, ?>[length];
+  }
+}
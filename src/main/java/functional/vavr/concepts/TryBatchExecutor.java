@@ -0,0 +1,248 @@
+package functional.vavr.concepts;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.vavr.CheckedFunction0;
+import io.vavr.control.Try;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import lombok.Builder;
+
+/*
+ * Runs batches of Try-producing tasks concurrently, at most maxConcurrency at a time, on an
+ * executor of its own: virtual threads when the JDK has them (21 and later), otherwise a fixed
+ * pool of maxConcurrency daemon threads. Close it to release the threads.
+ *
+ * The calling thread drives a batch: it launches tasks up to the concurrency limit, takes their
+ * results as they complete (handing each to the completion listener, in completion order, on the
+ * calling thread) and launches the next one, until the batch is done. Once failureThreshold tasks
+ * have failed no new task is launched; the running ones finish and the tasks never launched get a
+ * CancellationException failure.
+ */
+public final class TryBatchExecutor implements AutoCloseable {
+
+  private final int maxConcurrency;
+  private final int failureThreshold;
+  private final ExecutorService executor;
+  private final boolean virtualThreads;
+
+  /*
+   * maxConcurrency defaults to the number of processors, failureThreshold to no threshold.
+   */
+  @Builder(setterPrefix = "with")
+  private TryBatchExecutor(Integer maxConcurrency, Integer failureThreshold) {
+    this.maxConcurrency =
+        maxConcurrency == null ? Runtime.getRuntime().availableProcessors() : maxConcurrency;
+    this.failureThreshold = failureThreshold == null ? Integer.MAX_VALUE : failureThreshold;
+    Preconditions.checkArgument(this.maxConcurrency > 0, "maxConcurrency should be positive");
+    Preconditions.checkArgument(this.failureThreshold > 0, "failureThreshold should be positive");
+    Try<ExecutorService> virtual =
+        Try.of(
+            () ->
+                (ExecutorService)
+                    Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null));
+    this.virtualThreads = virtual.isSuccess();
+    this.executor =
+        virtual.getOrElse(
+            () ->
+                Executors.newFixedThreadPool(
+                    this.maxConcurrency,
+                    new ThreadFactoryBuilder()
+                        .setDaemon(true)
+                        .setNameFormat("try-batch-%d")
+                        .build()));
+  }
+
+  public boolean usesVirtualThreads() {
+    return virtualThreads;
+  }
+
+  public <T> BatchResult<T> run(Collection<? extends CheckedFunction0<? extends T>> tasks)
+      throws InterruptedException {
+    return run(tasks, (index, result) -> {});
+  }
+
+  /*
+   * onCompletion is called on the calling thread with the input index and result of every task,
+   * in completion order.
+   */
+  public <T> BatchResult<T> run(
+      Collection<? extends CheckedFunction0<? extends T>> tasks,
+      BiConsumer<Integer, Try<T>> onCompletion)
+      throws InterruptedException {
+    Objects.requireNonNull(tasks, "tasks must not be null");
+    List<Supplier<Try<T>>> suppliers = new ArrayList<>(tasks.size());
+    for (CheckedFunction0<? extends T> task : tasks) {
+      Objects.requireNonNull(task, "task must not be null");
+      suppliers.add(() -> Try.<T>of(task));
+    }
+    return execute(suppliers, onCompletion);
+  }
+
+  /*
+   * For tasks that already return a Try, such as FunctionalExceptionHandling::validateURL calls.
+   */
+  public <T> BatchResult<T> runTries(Collection<? extends Supplier<Try<T>>> tasks)
+      throws InterruptedException {
+    Objects.requireNonNull(tasks, "tasks must not be null");
+    List<Supplier<Try<T>>> suppliers = new ArrayList<>(tasks.size());
+    for (Supplier<Try<T>> task : tasks) {
+      Objects.requireNonNull(task, "task must not be null");
+      suppliers.add(() -> Try.of(task::get).flatMap(result -> result));
+    }
+    return execute(suppliers, (index, result) -> {});
+  }
+
+  private <T> BatchResult<T> execute(
+      List<Supplier<Try<T>>> tasks, BiConsumer<Integer, Try<T>> onCompletion)
+      throws InterruptedException {
+    Objects.requireNonNull(onCompletion, "onCompletion must not be null");
+    long start = System.nanoTime();
+    int size = tasks.size();
+    List<Try<T>> results = new ArrayList<>(Collections.nCopies(size, null));
+    int[] completionOrder = new int[size];
+    LatencyHistogram latencies = new LatencyHistogram();
+    BlockingQueue<Completion<T>> completions = new LinkedBlockingQueue<>();
+    Map<Integer, Future<?>> running = new HashMap<>();
+
+    int launched = 0;
+    int completed = 0;
+    int failures = 0;
+    try {
+      while (completed < launched || (launched < size && failures < failureThreshold)) {
+        while (launched < size
+            && launched - completed < maxConcurrency
+            && failures < failureThreshold) {
+          int index = launched++;
+          Supplier<Try<T>> task = tasks.get(index);
+          running.put(index, executor.submit(() -> completions.add(complete(index, task))));
+        }
+        Completion<T> completion = completions.take();
+        running.remove(completion.index());
+        results.set(completion.index(), completion.result());
+        completionOrder[completed++] = completion.index();
+        latencies.record(Math.max(0, completion.nanos()));
+        if (completion.result().isFailure()) failures++;
+        onCompletion.accept(completion.index(), completion.result());
+      }
+    } catch (Throwable t) {
+      // Interrupted, or onCompletion threw: nobody is left to take the running tasks' results
+      running.values().forEach(future -> future.cancel(true));
+      throw t;
+    }
+
+    for (int index = launched; index < size; index++) {
+      results.set(index, Try.failure(new CancellationException("failure threshold reached")));
+    }
+    return new BatchResult<>(
+        results,
+        Arrays.copyOf(completionOrder, completed),
+        failures,
+        Duration.ofNanos(System.nanoTime() - start),
+        latencies.snapshot());
+  }
+
+  private static <T> Completion<T> complete(int index, Supplier<Try<T>> task) {
+    long start = System.nanoTime();
+    Try<T> result;
+    try {
+      result = task.get();
+    } catch (Throwable t) {
+      // Try rethrows fatal throwables (errors, interruption) and refuses them as a failure; they
+      // are wrapped since the task still has to complete or the batch would wait for it forever
+      result = Try.failure(new ExecutionException(t));
+    }
+    return new Completion<>(index, result, System.nanoTime() - start);
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  private record Completion<T>(int index, Try<T> result, long nanos) {}
+
+  public static final class BatchResult<T> {
+
+    private final List<Try<T>> results;
+    private final int[] completionOrder;
+    private final int failures;
+    private final Duration elapsed;
+    private final LatencyHistogram.Snapshot taskLatencies;
+
+    private BatchResult(
+        List<Try<T>> results,
+        int[] completionOrder,
+        int failures,
+        Duration elapsed,
+        LatencyHistogram.Snapshot taskLatencies) {
+      this.results = Collections.unmodifiableList(results);
+      this.completionOrder = completionOrder;
+      this.failures = failures;
+      this.elapsed = elapsed;
+      this.taskLatencies = taskLatencies;
+    }
+
+    /*
+     * One result per task, in input order.
+     */
+    public List<Try<T>> results() {
+      return results;
+    }
+
+    /*
+     * Results of the tasks that ran, in the order they completed.
+     */
+    public List<Try<T>> resultsInCompletionOrder() {
+      List<Try<T>> inCompletionOrder = new ArrayList<>(completionOrder.length);
+      for (int index : completionOrder) inCompletionOrder.add(results.get(index));
+      return inCompletionOrder;
+    }
+
+    /*
+     * Input indexes of the tasks that ran, in the order they completed.
+     */
+    public int[] completionOrder() {
+      return completionOrder.clone();
+    }
+
+    public int completed() {
+      return completionOrder.length;
+    }
+
+    public int failures() {
+      return failures;
+    }
+
+    /*
+     * Tasks never launched because the failure threshold was reached.
+     */
+    public int skipped() {
+      return results.size() - completionOrder.length;
+    }
+
+    public Duration elapsed() {
+      return elapsed;
+    }
+
+    public LatencyHistogram.Snapshot taskLatencies() {
+      return taskLatencies;
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package functional.vavr.concepts;
+
+import com.google.common.base.Preconditions;
+import io.vavr.CheckedFunction0;
+import io.vavr.control.Try;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+
+/*
+ * Counts the outcome of Try-producing operations instead of logging each one. Per operation name
+ * it keeps LongAdder counters of successes and of failures per exception type, and a
+ * LatencyHistogram of the time each call took. Failures are still logged, but at most once per
+ * logInterval per operation, with the number of failures that were not logged since. Successes
+ * are not logged at all. snapshot() reads the numbers.
+ */
+public final class TryMetrics {
+
+  private final Logger logger;
+  private final long logIntervalNanos;
+  private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+
+  public TryMetrics(Logger logger, Duration logInterval) {
+    this.logger = Objects.requireNonNull(logger, "logger must not be null");
+    Objects.requireNonNull(logInterval, "logInterval must not be null");
+    Preconditions.checkArgument(!logInterval.isNegative(), "logInterval should be positive");
+    this.logIntervalNanos = logInterval.toNanos();
+  }
+
+  public <T> Try<T> record(String operation, CheckedFunction0<? extends T> supplier) {
+    Objects.requireNonNull(supplier, "supplier must not be null");
+    Operation metrics = operation(operation);
+    long start = System.nanoTime();
+    Try<T> result = Try.of(supplier);
+    metrics.latency.record(Math.max(0, System.nanoTime() - start));
+    if (result.isSuccess()) {
+      metrics.successes.increment();
+    } else {
+      metrics.failed(result.getCause());
+    }
+    return result;
+  }
+
+  /*
+   * An operation that has not recorded anything yet has an empty snapshot.
+   */
+  public Snapshot snapshot(String operation) {
+    Objects.requireNonNull(operation, "operation must not be null");
+    Operation metrics = operations.get(operation);
+    return metrics != null
+        ? metrics.snapshot()
+        : new Snapshot(operation, 0, Map.of(), new LatencyHistogram().snapshot());
+  }
+
+  /*
+   * Operation name -> snapshot, sorted by name.
+   */
+  public Map<String, Snapshot> snapshot() {
+    Map<String, Snapshot> snapshots = new TreeMap<>();
+    operations.forEach((name, operation) -> snapshots.put(name, operation.snapshot()));
+    return snapshots;
+  }
+
+  private Operation operation(String operation) {
+    Objects.requireNonNull(operation, "operation must not be null");
+    Operation metrics = operations.get(operation);
+    return metrics != null ? metrics : operations.computeIfAbsent(operation, Operation::new);
+  }
+
+  /*
+   * failures is exception class name -> count.
+   */
+  public record Snapshot(
+      String operation,
+      long successes,
+      Map<String, Long> failures,
+      LatencyHistogram.Snapshot latency) {
+
+    public long failureCount() {
+      return failures.values().stream().mapToLong(Long::longValue).sum();
+    }
+  }
+
+  private final class Operation {
+
+    private final String name;
+    private final LongAdder successes = new LongAdder();
+    private final Map<Class<?>, LongAdder> failures = new ConcurrentHashMap<>();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLong nextLogNanos = new AtomicLong(System.nanoTime());
+    private final LongAdder unlogged = new LongAdder();
+
+    Operation(String name) {
+      this.name = name;
+    }
+
+    void failed(Throwable cause) {
+      failures.computeIfAbsent(cause.getClass(), type -> new LongAdder()).increment();
+      long now = System.nanoTime();
+      long next = nextLogNanos.get();
+      if (now - next >= 0 && nextLogNanos.compareAndSet(next, now + logIntervalNanos)) {
+        logger.error(
+            "{} failed ({} more failures since the last report)",
+            name,
+            unlogged.sumThenReset(),
+            cause);
+      } else {
+        unlogged.increment();
+      }
+    }
+
+    Snapshot snapshot() {
+      Map<String, Long> failureCounts = new TreeMap<>();
+      failures.forEach((type, count) -> failureCounts.put(type.getName(), count.sum()));
+      return new Snapshot(name, successes.sum(), failureCounts, latency.snapshot());
+    }
+  }
+}
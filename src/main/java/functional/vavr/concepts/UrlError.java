@@ -0,0 +1,24 @@
+package functional.vavr.concepts;
+
+/*
+ * Outcome of checking one URL with UrlValidator, NONE when it is valid.
+ */
+public enum UrlError {
+  NONE,
+  NULL,
+  MISSING_SCHEME,
+  UNSUPPORTED_SCHEME,
+  MISSING_AUTHORITY,
+  INVALID_HOST,
+  INVALID_PORT;
+
+  private static final UrlError[] VALUES = values();
+
+  static UrlError of(byte code) {
+    return VALUES[code];
+  }
+
+  byte code() {
+    return (byte) ordinal();
+  }
+}
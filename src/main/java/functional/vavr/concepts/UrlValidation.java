@@ -0,0 +1,62 @@
+package functional.vavr.concepts;
+
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/*
+ * Result of validating a batch of URLs: one error code byte per input, in input order, and a
+ * BitSet of the valid ones, instead of a Try<URL> per input.
+ */
+public final class UrlValidation {
+
+  private final byte[] errors;
+  private final BitSet valid;
+
+  UrlValidation(byte[] errors) {
+    this.errors = errors;
+    this.valid = new BitSet(errors.length);
+    for (int i = 0; i < errors.length; i++) {
+      if (errors[i] == UrlError.NONE.code()) valid.set(i);
+    }
+  }
+
+  public int size() {
+    return errors.length;
+  }
+
+  public boolean isValid(int index) {
+    Objects.checkIndex(index, errors.length);
+    return valid.get(index);
+  }
+
+  public UrlError error(int index) {
+    Objects.checkIndex(index, errors.length);
+    return UrlError.of(errors[index]);
+  }
+
+  public int validCount() {
+    return valid.cardinality();
+  }
+
+  /*
+   * Copy of the validity bits, bit i set when input i is valid.
+   */
+  public BitSet valid() {
+    return (BitSet) valid.clone();
+  }
+
+  /*
+   * Number of inputs per error code, NONE counting the valid ones.
+   */
+  public Map<UrlError, Integer> errorCounts() {
+    int[] counts = new int[UrlError.values().length];
+    for (byte error : errors) counts[error]++;
+    Map<UrlError, Integer> errorCounts = new EnumMap<>(UrlError.class);
+    for (UrlError error : UrlError.values()) {
+      if (counts[error.ordinal()] > 0) errorCounts.put(error, counts[error.ordinal()]);
+    }
+    return errorCounts;
+  }
+}
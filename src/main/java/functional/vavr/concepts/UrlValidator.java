@@ -0,0 +1,206 @@
+package functional.vavr.concepts;
+
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/*
+ * Syntax check of http, https, ftp and file URLs in one pass over the string, without creating a
+ * URL or looking up a protocol handler. Batches are validated in parallel chunks and each chunk
+ * remembers the hosts it has checked, so a crawl frontier full of the same hosts checks each of
+ * them about once per chunk.
+ *
+ * It is stricter than new URL(...) where that is lenient: http, https and ftp URLs need "//" and a
+ * host, hosts are dot separated labels of letters, digits, '-' and '_' (not starting or ending
+ * with '-') or a bracketed IPv6 literal, and ports are at most 65535. Paths, queries and
+ * fragments are not checked. Surrounding whitespace is ignored, as URL does.
+ */
+public final class UrlValidator {
+
+  private static final int CHUNK_SIZE = 1 << 14;
+  private static final int MAX_PORT = 65_535;
+  private static final int MAX_HOST_LENGTH = 253;
+  private static final int MAX_LABEL_LENGTH = 63;
+
+  private UrlValidator() {}
+
+  public static UrlError validate(String url) {
+    return validate(url, null);
+  }
+
+  public static UrlValidation validate(String[] urls) {
+    Objects.requireNonNull(urls, "urls must not be null");
+    byte[] errors = new byte[urls.length];
+    int chunks = (urls.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    IntStream.range(0, chunks)
+        .parallel()
+        .forEach(
+            chunk -> {
+              HostCache hosts = new HostCache();
+              int end = Math.min(urls.length, (chunk + 1) * CHUNK_SIZE);
+              for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                errors[i] = validate(urls[i], hosts).code();
+              }
+            });
+    return new UrlValidation(errors);
+  }
+
+  /*
+   * Collects the stream into an array first, results are in encounter order.
+   */
+  public static UrlValidation validate(Stream<String> urls) {
+    Objects.requireNonNull(urls, "urls must not be null");
+    return validate(urls.toArray(String[]::new));
+  }
+
+  // hosts may be null to check the host without caching it
+  static UrlError validate(String url, HostCache hosts) {
+    if (url == null) return UrlError.NULL;
+    int start = 0;
+    int end = url.length();
+    while (start < end && url.charAt(start) <= ' ') start++;
+    while (end > start && url.charAt(end - 1) <= ' ') end--;
+
+    int colon = start;
+    while (colon < end && isSchemeChar(url.charAt(colon))) colon++;
+    if (colon == start || colon == end || url.charAt(colon) != ':') return UrlError.MISSING_SCHEME;
+    if (!isLetter(url.charAt(start))) return UrlError.MISSING_SCHEME;
+
+    boolean file = isScheme(url, start, colon, "file");
+    boolean hierarchical =
+        isScheme(url, start, colon, "http")
+            || isScheme(url, start, colon, "https")
+            || isScheme(url, start, colon, "ftp");
+    if (!file && !hierarchical) return UrlError.UNSUPPORTED_SCHEME;
+
+    int authority = colon + 1;
+    boolean slashes =
+        end - authority >= 2 && url.charAt(authority) == '/' && url.charAt(authority + 1) == '/';
+    if (!slashes) return file ? UrlError.NONE : UrlError.MISSING_AUTHORITY;
+    authority += 2;
+    int authorityEnd = authority;
+    while (authorityEnd < end && !isAuthorityEnd(url.charAt(authorityEnd))) authorityEnd++;
+    // The host follows the user info, if any
+    for (int i = authorityEnd - 1; i >= authority; i--) {
+      if (url.charAt(i) == '@') {
+        authority = i + 1;
+        break;
+      }
+    }
+    if (authority == authorityEnd) return file ? UrlError.NONE : UrlError.INVALID_HOST;
+
+    int hostEnd;
+    if (url.charAt(authority) == '[') {
+      hostEnd = url.indexOf(']', authority);
+      if (hostEnd < 0 || hostEnd >= authorityEnd || !isIpv6(url, authority + 1, hostEnd)) {
+        return UrlError.INVALID_HOST;
+      }
+      hostEnd++;
+      if (hostEnd < authorityEnd && url.charAt(hostEnd) != ':') return UrlError.INVALID_HOST;
+    } else {
+      hostEnd = authority;
+      while (hostEnd < authorityEnd && url.charAt(hostEnd) != ':') hostEnd++;
+      boolean validHost =
+          hosts == null ? isHost(url, authority, hostEnd) : hosts.isValid(url, authority, hostEnd);
+      if (!validHost) return UrlError.INVALID_HOST;
+    }
+    return hostEnd == authorityEnd || isPort(url, hostEnd + 1, authorityEnd)
+        ? UrlError.NONE
+        : UrlError.INVALID_PORT;
+  }
+
+  static boolean isHost(String text, int start, int end) {
+    int length = end - start;
+    if (length == 0 || length > MAX_HOST_LENGTH) return false;
+    int labelStart = start;
+    for (int i = start; i <= end; i++) {
+      if (i < end && text.charAt(i) != '.') {
+        if (!isHostChar(text.charAt(i))) return false;
+        continue;
+      }
+      int labelLength = i - labelStart;
+      // A trailing dot (fully qualified name) leaves an empty last label
+      boolean last = i == end && labelLength == 0 && i > start;
+      if (!last) {
+        if (labelLength == 0 || labelLength > MAX_LABEL_LENGTH) return false;
+        if (text.charAt(labelStart) == '-' || text.charAt(i - 1) == '-') return false;
+      }
+      labelStart = i + 1;
+    }
+    return true;
+  }
+
+  // Empty ports are allowed, as URL allows them
+  private static boolean isPort(String text, int start, int end) {
+    int port = 0;
+    for (int i = start; i < end; i++) {
+      char c = text.charAt(i);
+      if (c < '0' || c > '9') return false;
+      port = port * 10 + (c - '0');
+      if (port > MAX_PORT) return false;
+    }
+    return true;
+  }
+
+  private static boolean isIpv6(String text, int start, int end) {
+    if (start == end) return false;
+    boolean colon = false;
+    for (int i = start; i < end; i++) {
+      char c = text.charAt(i);
+      colon |= c == ':';
+      if (!(c == ':' || c == '.' || Character.digit(c, 16) >= 0)) return false;
+    }
+    return colon;
+  }
+
+  private static boolean isScheme(String text, int start, int end, String scheme) {
+    int length = end - start;
+    return length == scheme.length() && text.regionMatches(true, start, scheme, 0, length);
+  }
+
+  private static boolean isSchemeChar(char c) {
+    return isLetter(c) || (c >= '0' && c <= '9') || c == '+' || c == '-' || c == '.';
+  }
+
+  private static boolean isLetter(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+  }
+
+  // Non-ASCII characters are let through for internationalised names
+  private static boolean isHostChar(char c) {
+    return isLetter(c) || (c >= '0' && c <= '9') || c == '-' || c == '_' || c > 0x7F;
+  }
+
+  private static boolean isAuthorityEnd(char c) {
+    return c == '/' || c == '?' || c == '#';
+  }
+
+  /*
+   * Direct mapped cache of checked hosts, looked up by the host's range of the URL so a hit
+   * allocates nothing. Confined to the thread validating a chunk.
+   */
+  static final class HostCache {
+
+    private static final int SIZE = 1 << 10;
+
+    private final String[] hosts = new String[SIZE];
+    private final boolean[] valid = new boolean[SIZE];
+
+    boolean isValid(String url, int start, int end) {
+      int length = end - start;
+      int hash = 0;
+      for (int i = start; i < end; i++) {
+        hash = 31 * hash + url.charAt(i);
+      }
+      int slot = (hash ^ (hash >>> 16)) & (SIZE - 1);
+      String host = hosts[slot];
+      if (host != null && host.length() == length && host.regionMatches(0, url, start, length)) {
+        return valid[slot];
+      }
+      boolean isValid = isHost(url, start, end);
+      hosts[slot] = url.substring(start, end);
+      valid[slot] = isValid;
+      return isValid;
+    }
+  }
+}
@@ -8,23 +8,30 @@ import java.util.Objects;
 public class VavrFunctionsFeatures {
 
   /*
-   * Composition Function example
+   * Composition Function example; the composed function is built once, not per element. Longer
+   * chains: see Pipeline.
    */
   public <T, U, R> List<R> compose(
       List<T> items, Function1<T, U> firstOps, Function1<U, R> secondOps) {
     Objects.requireNonNull(items, "items cannot be null");
     Objects.requireNonNull(firstOps, "firstOps cannot be null");
     Objects.requireNonNull(secondOps, "secondOps cannot be null");
-    return items.stream().map(e -> secondOps.compose(firstOps).apply(e)).toList();
+    return Pipeline.of(firstOps).then(secondOps).apply(items);
   }
 
   /*
-   * Lifting Function example
+   * Lifting Function example; a view over liftAll, each Option is created when it is read.
    */
   public <T, U> List<Option<U>> lift(List<T> items, Function1<T, U> liftOperation) {
+    return liftAll(items, liftOperation).asOptions();
+  }
+
+  /*
+   * Lifts the whole batch into a columnar OptionVector instead of one Option per element.
+   */
+  public <T, U> OptionVector<U> liftAll(List<T> items, Function1<T, U> liftOperation) {
     Objects.requireNonNull(items, "items cannot be null");
     Objects.requireNonNull(liftOperation, "liftOperation cannot be null");
-    Function1<T, Option<U>> liftedOps = Function1.lift(liftOperation);
-    return items.stream().map(liftedOps).toList();
+    return OptionVector.lift(items, liftOperation);
   }
 }
@@ -0,0 +1,75 @@
+package functional.streams.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class BatchesTest {
+
+  @Test
+  void test_partition_should_return_sub_list_views_when_list_is_random_access() {
+    List<Integer> integers = new ArrayList<>(List.of(1, 2, 3, 4, 5, 6, 7));
+    List<List<Integer>> batches = Batches.partition(integers, 3);
+    assertThat(batches).containsExactly(List.of(1, 2, 3), List.of(4, 5, 6), List.of(7));
+
+    integers.set(4, 50);
+    assertThat(batches.get(1)).containsExactly(4, 50, 6);
+    assertThat(Batches.partition(integers, 100)).containsExactly(integers);
+    assertThat(Batches.partition(List.of(), 3)).isEmpty();
+  }
+
+  @Test
+  void test_partition_should_copy_batches_when_list_is_not_random_access() {
+    List<Integer> integers = new LinkedList<>(List.of(1, 2, 3, 4, 5));
+    assertThat(Batches.partition(integers, 2))
+        .containsExactly(List.of(1, 2), List.of(3, 4), List.of(5));
+  }
+
+  @Test
+  void test_batches_should_return_same_batches_when_stream_is_parallel() {
+    List<Integer> integers = IntStream.range(0, 100_003).boxed().toList();
+    List<List<Integer>> expected = Batches.partition(integers, 1_000);
+
+    assertThat(Batches.batches(integers.stream(), 1_000).toList()).isEqualTo(expected);
+    assertThat(Batches.batches(integers.parallelStream(), 1_000).toList()).isEqualTo(expected);
+    Stream<Integer> unsized = Stream.iterate(0, i -> i < 100_003, i -> i + 1).parallel();
+    assertThat(Batches.batches(unsized, 1_000).toList()).isEqualTo(expected);
+    assertThat(Batches.batches(integers.parallelStream(), 1_000).mapToInt(List::size).sum())
+        .isEqualTo(100_003);
+  }
+
+  @Test
+  void test_batches_should_close_source_when_batches_are_closed() {
+    AtomicBoolean closed = new AtomicBoolean();
+    try (Stream<List<Integer>> batches =
+        Batches.batches(Stream.of(1, 2, 3).onClose(() -> closed.set(true)), 2)) {
+      assertThat(batches).containsExactly(List.of(1, 2), List.of(3));
+    }
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  void test_batches_should_read_iterator_lazily() {
+    Iterator<List<Integer>> batches = Batches.batches(Stream.iterate(0, i -> i + 1).iterator(), 2);
+    assertThat(batches.next()).containsExactly(0, 1);
+    assertThat(batches.next()).containsExactly(2, 3);
+  }
+
+  @Test
+  void test_partition_should_throw_exception_when_size_is_not_positive() {
+    assertThatThrownBy(() -> Batches.partition(List.of(1), 0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("size should be positive");
+    assertThatThrownBy(() -> Batches.batches((Stream<Integer>) null, 1))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("stream must not be null");
+  }
+}
@@ -0,0 +1,90 @@
+package functional.streams.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import functional.streams.example.DuplicateFinder.Duplicate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class DuplicateFinderTest {
+
+  @Test
+  void test_find_first_should_report_element_and_both_positions_of_first_duplicate() {
+    List<String> words = Arrays.asList("Zebra", null, "Kangaroo", "Elephant", null, "Kangaroo");
+    assertThat(DuplicateFinder.findFirst(words)).contains(new Duplicate<>("Kangaroo", 2, 5));
+  }
+
+  @Test
+  void test_find_first_should_return_empty_when_all_elements_are_unique() {
+    assertThat(DuplicateFinder.findFirst(List.of("a", "b", "c"))).isEmpty();
+  }
+
+  @Test
+  void test_find_first_parallel_should_return_same_duplicate_as_sequential_scan() {
+    List<String> ids =
+        new ArrayList<>(IntStream.range(0, 200_000).mapToObj(i -> "id" + i).toList());
+    ids.set(150_000, "id120000");
+    ids.set(190_000, "id3");
+    Duplicate<String> expected = new Duplicate<>("id120000", 120_000, 150_000);
+
+    assertThat(DuplicateFinder.findFirst(ids)).contains(expected);
+    assertThat(DuplicateFinder.findFirstParallel(ids, 8)).contains(expected);
+    assertThat(DuplicateFinder.findFirstParallel(new LinkedList<>(ids), 3)).contains(expected);
+  }
+
+  @Test
+  void test_find_first_parallel_should_not_hash_the_rest_of_the_list_when_duplicate_is_early() {
+    int size = 2 * DuplicateFinder.PARALLEL_THRESHOLD;
+    List<Object> ids = new ArrayList<>(IntStream.range(0, size).boxed().toList());
+    ids.set(5, 0);
+    ids.set(
+        size - 1,
+        new Object() {
+          @Override
+          public int hashCode() {
+            throw new AssertionError("hashed past the duplicate");
+          }
+        });
+
+    assertThat(DuplicateFinder.findFirstParallel(ids, 4)).contains(new Duplicate<>(0, 0, 5));
+    assertThat(DuplicateFinder.findFirstParallel(new LinkedList<>(ids), 4))
+        .contains(new Duplicate<>(0, 0, 5));
+  }
+
+  @Test
+  void test_find_first_parallel_should_return_empty_when_large_list_is_unique() {
+    List<Integer> ids = IntStream.range(0, 100_000).boxed().toList();
+    assertThat(DuplicateFinder.findFirstParallel(ids, 4)).isEmpty();
+  }
+
+  @Test
+  void test_find_first_parallel_should_skip_nulls_when_large_list_is_not_random_access() {
+    List<String> ids = new LinkedList<>();
+    for (int i = 0; i < DuplicateFinder.PARALLEL_THRESHOLD; i++) {
+      ids.add(i % 1_000 == 7 ? null : "id" + i);
+    }
+    ids.add("id42");
+
+    assertThat(DuplicateFinder.findFirstParallel(ids, 4))
+        .contains(new Duplicate<>("id42", 42, DuplicateFinder.PARALLEL_THRESHOLD));
+  }
+
+  @Test
+  void test_find_first_parallel_should_throw_exception_when_partitions_is_not_positive() {
+    assertThatThrownBy(() -> DuplicateFinder.findFirstParallel(List.of("a"), 0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("partitions should be positive");
+  }
+
+  @Test
+  void test_find_first_should_throw_exception_when_list_is_null() {
+    assertThatThrownBy(() -> DuplicateFinder.findFirst(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("elements must not be null");
+  }
+}
@@ -0,0 +1,87 @@
+package functional.streams.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ExternalSortTest {
+
+  @Test
+  void test_sort_should_spill_runs_and_delete_them_when_stream_is_closed(@TempDir Path directory)
+      throws IOException {
+    List<String> words = randomWords(20_000);
+    // Small enough for a few hundred runs, so the runs are merged in more than one pass
+    try (Stream<String> sorted = ExternalSort.sort(words.stream(), 4_096, directory)) {
+      assertThat(sorted.toList()).isEqualTo(words.stream().sorted().toList());
+      try (Stream<Path> runs = Files.list(directory)) {
+        assertThat(runs.count()).isBetween(1L, (long) ExternalSort.MAX_FAN_IN);
+      }
+    }
+    try (Stream<Path> runs = Files.list(directory)) {
+      assertThat(runs).isEmpty();
+    }
+  }
+
+  @Test
+  void test_sort_should_stay_in_memory_and_skip_nulls_when_input_fits_budget(
+      @TempDir Path directory) throws IOException {
+    Stream<String> words = Stream.of("pear", null, "Äpfel", "apple", "zebra");
+    try (Stream<String> sorted = ExternalSort.sort(words, 1 << 20, directory)) {
+      assertThat(sorted).containsExactly("apple", "pear", "zebra", "Äpfel");
+    }
+    try (Stream<Path> runs = Files.list(directory)) {
+      assertThat(runs).isEmpty();
+    }
+  }
+
+  @Test
+  void test_sort_should_delete_spilled_runs_when_input_fails(@TempDir Path directory)
+      throws IOException {
+    Stream<String> words =
+        Stream.concat(
+            randomWords(5_000).stream(),
+            Stream.<String>of("last")
+                .peek(
+                    word -> {
+                      throw new UncheckedIOException(new IOException("disk gone"));
+                    }));
+
+    assertThatThrownBy(() -> ExternalSort.sort(words, 4_096, directory))
+        .isInstanceOf(UncheckedIOException.class)
+        .hasRootCauseMessage("disk gone");
+    try (Stream<Path> runs = Files.list(directory)) {
+      assertThat(runs).isEmpty();
+    }
+  }
+
+  @Test
+  void test_sort_should_throw_exception_when_budget_is_not_positive() {
+    assertThatThrownBy(() -> ExternalSort.sort(Stream.of("a"), 0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("memoryBudgetBytes should be positive");
+  }
+
+  private static List<String> randomWords(int count) {
+    SplittableRandom random = new SplittableRandom(23);
+    return IntStream.range(0, count)
+        .mapToObj(
+            i -> {
+              char[] word = new char[random.nextInt(1, 12)];
+              for (int c = 0; c < word.length; c++) {
+                word[c] = (char) random.nextInt('a', 'z' + 1);
+              }
+              return new String(word);
+            })
+        .toList();
+  }
+}
@@ -0,0 +1,65 @@
+package functional.streams.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigInteger;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FibonacciTest {
+
+  @Test
+  void test_term_should_widen_from_integer_to_long_to_big_integer_when_values_overflow() {
+    assertThat(Fibonacci.term(46)).isEqualTo(1_836_311_903);
+    assertThat(Fibonacci.term(47)).isEqualTo(2_971_215_073L);
+    assertThat(Fibonacci.term(92)).isEqualTo(7_540_113_804_746_346_429L);
+    assertThat(Fibonacci.term(93)).isEqualTo(new BigInteger("12200160415121876738"));
+  }
+
+  @Test
+  void test_term_should_agree_between_cached_prefix_and_fast_doubling() {
+    BigInteger previous = BigInteger.ZERO;
+    BigInteger current = BigInteger.ONE;
+    for (int n = 1; n < 300; n++) {
+      assertThat(Fibonacci.termExact(n)).isEqualTo(current);
+      assertThat(Fibonacci.fastDoubling(n)[0]).isEqualTo(current);
+      BigInteger next = previous.add(current);
+      previous = current;
+      current = next;
+    }
+  }
+
+  @Test
+  void test_term_should_use_fast_doubling_beyond_cached_prefix() {
+    long n = Fibonacci.MAX_CACHED_TERMS + 5L;
+    BigInteger[] pair = Fibonacci.fastDoubling(n - 1);
+    assertThat(Fibonacci.term(n)).isEqualTo(pair[1]);
+    assertThat(Fibonacci.termExact(n))
+        .isEqualTo(Fibonacci.termExact(n - 1).add(Fibonacci.termExact(n - 2)));
+  }
+
+  @Test
+  void test_first_terms_should_be_unmodifiable_view_of_prefix() {
+    List<Number> terms = Fibonacci.firstTerms(95);
+    assertThat(terms).hasSize(95).startsWith(0, 1, 1, 2, 3, 5, 8);
+    assertThat(terms.get(94)).isEqualTo(Fibonacci.term(94));
+    assertThatThrownBy(() -> terms.set(0, 1)).isInstanceOf(UnsupportedOperationException.class);
+    assertThat(Fibonacci.firstTerms(Fibonacci.MAX_CACHED_TERMS + 2))
+        .last()
+        .isEqualTo(Fibonacci.term(Fibonacci.MAX_CACHED_TERMS + 1));
+  }
+
+  @Test
+  void test_first_int_terms_should_throw_exception_when_terms_overflow_int() {
+    assertThat(Fibonacci.firstIntTerms(47)).last().isEqualTo(1_836_311_903);
+    assertThatThrownBy(() -> Fibonacci.firstIntTerms(48)).isInstanceOf(ArithmeticException.class);
+  }
+
+  @Test
+  void test_term_should_throw_exception_when_n_is_negative() {
+    assertThatThrownBy(() -> Fibonacci.term(-1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("n should be positive");
+  }
+}
@@ -0,0 +1,172 @@
+package functional.streams.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FlowPipelineTest {
+
+  @Test
+  void test_phone_numbers_should_return_phone_numbers_when_valid_file_is_passed() {
+    List<String> phoneNumbers = new ArrayList<>();
+    FlowPipeline.forEach(
+            FlowPipeline.phoneNumbers(
+                FlowPipeline.sentences("src/main/resources", "PhoneNumberSample.txt")),
+            phoneNumbers::add,
+            2)
+        .join();
+
+    assertThat(phoneNumbers).isEqualTo(List.of("0230349821", "0230202010", "2343452413"));
+  }
+
+  @Test
+  void test_count_words_in_file_should_count_every_word_of_every_sentence(@TempDir Path directory)
+      throws IOException {
+    List<String> words = new ArrayList<>();
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 5_000; i++) {
+      String sentence = "word" + (i % 37) + " and  word" + (i % 11) + "\tagain";
+      words.addAll(Arrays.asList(sentence.split("\\s+")));
+      text.append(sentence).append(i % 5 == 0 ? ".\n" : ". ");
+    }
+    Files.writeString(directory.resolve("words.txt"), text);
+
+    WordFrequencyCounter counter =
+        FlowPipeline.countWordsInFile(directory.toString(), "words.txt").join();
+
+    assertThat(counter.toFrequencyMap())
+        .isEqualTo(WordFrequencyCounter.count(words).toFrequencyMap());
+  }
+
+  @Test
+  void test_tokens_should_read_no_further_than_the_buffer_when_downstream_is_slow() {
+    AtomicLong read = new AtomicLong();
+    AtomicBoolean closed = new AtomicBoolean();
+    Flow.Publisher<String> sentences =
+        FlowPipeline.fromStream(
+            () ->
+                Stream.iterate(0, i -> i + 1)
+                    .map(i -> "a b " + i)
+                    .peek(sentence -> read.incrementAndGet())
+                    .onClose(() -> closed.set(true)),
+            Runnable::run);
+    List<String> received = new ArrayList<>();
+    Flow.Subscription[] subscription = new Flow.Subscription[1];
+
+    FlowPipeline.tokens(sentences, 4)
+        .subscribe(
+            new Flow.Subscriber<>() {
+              @Override
+              public void onSubscribe(Flow.Subscription s) {
+                subscription[0] = s;
+              }
+
+              @Override
+              public void onNext(String token) {
+                received.add(token);
+              }
+
+              @Override
+              public void onError(Throwable throwable) {}
+
+              @Override
+              public void onComplete() {}
+            });
+    assertThat(read.get()).isEqualTo(4);
+    subscription[0].request(7);
+
+    assertThat(received).containsExactly("a", "b", "0", "a", "b", "1", "a");
+    assertThat(read.get()).isEqualTo(7);
+    subscription[0].cancel();
+    assertThat(closed.get()).isTrue();
+  }
+
+  @Test
+  void test_count_words_should_read_sentences_on_the_executor_when_one_is_given(
+      @TempDir Path directory) throws Exception {
+    Files.writeString(directory.resolve("words.txt"), "one two. two three three. three");
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      CompletableFuture<WordFrequencyCounter> counter =
+          FlowPipeline.countWords(
+              FlowPipeline.tokens(
+                  FlowPipeline.sentences(directory.toString(), "words.txt", executor), 1),
+              1);
+
+      assertThat(counter.get(10, TimeUnit.SECONDS).toFrequencyMap())
+          .containsEntry("one", 1L)
+          .containsEntry("two", 2L)
+          .containsEntry("three", 3L)
+          .hasSize(3);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void test_for_each_should_cancel_the_subscription_when_the_future_is_cancelled()
+      throws InterruptedException {
+    AtomicLong read = new AtomicLong();
+    CountDownLatch closed = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      CompletableFuture<Void> done =
+          FlowPipeline.forEach(
+              FlowPipeline.fromStream(
+                  () -> Stream.iterate(0, i -> i + 1).onClose(closed::countDown), executor),
+              i -> read.incrementAndGet(),
+              8);
+      while (read.get() < 100) Thread.onSpinWait();
+      done.cancel(false);
+
+      assertThat(closed.await(10, TimeUnit.SECONDS)).isTrue();
+      assertThat(done).isCancelled();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void test_flat_map_should_fail_the_pipeline_when_mapper_throws() {
+    Flow.Publisher<String> numbers =
+        FlowPipeline.flatMap(
+            FlowPipeline.fromStream(() -> Stream.of("1", "2", "x", "4"), Runnable::run),
+            (String text, Consumer<? super String> sink) ->
+                sink.accept(String.valueOf(Integer.parseInt(text))),
+            2);
+    List<String> received = new ArrayList<>();
+
+    CompletableFuture<Void> done = FlowPipeline.forEach(numbers, received::add, 1);
+
+    assertThat(received).containsExactly("1", "2");
+    assertThatThrownBy(done::get)
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(NumberFormatException.class);
+  }
+
+  @Test
+  void test_flat_map_should_throw_exception_when_buffer_size_is_not_positive() {
+    assertThatThrownBy(() -> FlowPipeline.tokens(FlowPipeline.sentences("src", "x"), 0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("bufferSize should be positive");
+  }
+}
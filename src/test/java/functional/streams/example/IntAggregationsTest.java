@@ -0,0 +1,85 @@
+package functional.streams.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class IntAggregationsTest {
+
+  private static final int[] VALUES = {10, -10, 0, 2, 24, 10, 7};
+
+  @Test
+  void test_aggregations_should_agree_for_arrays_sliced_heap_buffers_and_direct_buffers() {
+    IntBuffer padded = IntBuffer.wrap(new int[VALUES.length + 4]);
+    padded.position(2);
+    IntBuffer slice = padded.slice().put(VALUES).flip();
+    IntBuffer direct = ByteBuffer.allocateDirect(VALUES.length * Integer.BYTES).asIntBuffer();
+    direct.put(VALUES).flip();
+
+    for (IntBuffer buffer : List.of(IntBuffer.wrap(VALUES), slice, direct)) {
+      assertThat(IntAggregations.sum(buffer)).isEqualTo(43);
+      assertThat(IntAggregations.average(buffer)).isEqualTo(43 / 7.0);
+      assertThat(IntAggregations.min(buffer)).isEqualTo(-10);
+      assertThat(IntAggregations.max(buffer)).isEqualTo(24);
+      assertThat(IntAggregations.anyOdd(buffer)).isTrue();
+      assertThat(IntAggregations.allMultiplesOfFive(buffer)).isFalse();
+      assertThat(buffer.position()).isZero();
+    }
+  }
+
+  @Test
+  void test_statistics_should_match_int_summary_statistics_of_stream() {
+    int[] values = IntStream.range(-500, 1_000).map(i -> i * 7919).toArray();
+    IntSummaryStatistics expected = Arrays.stream(values).summaryStatistics();
+    IntSummaryStatistics statistics = IntAggregations.statistics(IntBuffer.wrap(values));
+    assertThat(statistics.getCount()).isEqualTo(expected.getCount());
+    assertThat(statistics.getSum()).isEqualTo(expected.getSum());
+    assertThat(statistics.getMin()).isEqualTo(expected.getMin());
+    assertThat(statistics.getMax()).isEqualTo(expected.getMax());
+    assertThat(statistics.getAverage()).isEqualTo(expected.getAverage());
+  }
+
+  @Test
+  void test_statistics_should_be_empty_when_buffer_is_empty() {
+    assertThat(IntAggregations.statistics(IntBuffer.allocate(0)).getCount()).isZero();
+  }
+
+  @Test
+  void test_all_multiples_of_five_should_use_unsigned_remainder_like_boxed_version() {
+    assertThat(IntAggregations.allMultiplesOfFive(IntBuffer.wrap(new int[] {5, 20, 350})))
+        .isTrue();
+    assertThat(IntAggregations.allMultiplesOfFive(IntBuffer.wrap(new int[] {5, -5}))).isFalse();
+  }
+
+  @Test
+  void test_min_and_max_should_throw_exception_when_buffer_is_empty() {
+    assertThatThrownBy(() -> IntAggregations.min(IntBuffer.allocate(0)))
+        .isInstanceOf(NoSuchElementException.class)
+        .hasMessage("No Min element found");
+    assertThatThrownBy(() -> IntAggregations.max(IntBuffer.allocate(0)))
+        .isInstanceOf(NoSuchElementException.class)
+        .hasMessage("No Max element found");
+  }
+
+  @Test
+  void test_aggregations_should_throw_exception_when_null_is_passed() {
+    assertThatThrownBy(() -> IntAggregations.sum((int[]) null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("integers must not be null");
+  }
+
+  @Test
+  void test_to_int_array_should_drop_nulls_and_rejecting_variant_should_throw_on_null() {
+    assertThat(IntAggregations.toIntArray(Arrays.asList(1, null, 3))).containsExactly(1, 3);
+    assertThatThrownBy(() -> IntAggregations.toIntArrayRejectingNulls(Arrays.asList(1, null)))
+        .isInstanceOf(NullPointerException.class);
+  }
+}
@@ -0,0 +1,157 @@
+package functional.streams.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class IntBitmapTest {
+
+  @Test
+  void test_of_should_keep_distinct_values_in_ascending_signed_order() {
+    IntBitmap bitmap = IntBitmap.of(5, -1, Integer.MIN_VALUE, 5, Integer.MAX_VALUE, 0, 70_000);
+    assertThat(bitmap.toArray())
+        .containsExactly(Integer.MIN_VALUE, -1, 0, 5, 70_000, Integer.MAX_VALUE);
+    assertThat(bitmap.cardinality()).isEqualTo(6);
+    assertThat(bitmap.contains(-1)).isTrue();
+    assertThat(bitmap.contains(1)).isFalse();
+    assertThat(IntBitmap.of(Arrays.asList(3, null, 3, 1)).toArray()).containsExactly(1, 3);
+  }
+
+  @Test
+  void test_set_operations_should_match_tree_set_for_sparse_dense_and_run_chunks() {
+    SplittableRandom random = new SplittableRandom(11);
+    for (int round = 0; round < 20; round++) {
+      IntBitmap first = randomBitmap(random);
+      IntBitmap second = randomBitmap(random);
+      if (round % 2 == 0) {
+        first.runOptimize();
+        second.runOptimize();
+      }
+      TreeSet<Integer> firstSet = toSet(first);
+      TreeSet<Integer> secondSet = toSet(second);
+
+      TreeSet<Integer> union = new TreeSet<>(firstSet);
+      union.addAll(secondSet);
+      TreeSet<Integer> intersection = new TreeSet<>(firstSet);
+      intersection.retainAll(secondSet);
+      TreeSet<Integer> difference = new TreeSet<>(firstSet);
+      difference.removeAll(secondSet);
+
+      assertThat(IntBitmap.or(first, second).toArray()).isEqualTo(toArray(union));
+      assertThat(IntBitmap.and(first, second).toArray()).isEqualTo(toArray(intersection));
+      assertThat(IntBitmap.andNot(first, second).toArray()).isEqualTo(toArray(difference));
+      assertThat(IntBitmap.or(first, second).cardinality()).isEqualTo(union.size());
+    }
+  }
+
+  @Test
+  void test_add_should_convert_array_chunk_to_bitmap_when_it_becomes_dense() {
+    IntBitmap bitmap = new IntBitmap();
+    for (int i = 0; i < 3 * IntBitmap.ARRAY_MAX_CARDINALITY; i += 2) {
+      bitmap.add(i);
+    }
+    assertThat(bitmap.cardinality()).isEqualTo(6144);
+    assertThat(bitmap.contains(4096)).isTrue();
+    assertThat(bitmap.contains(4097)).isFalse();
+    assertThat(bitmap.toArray()).isEqualTo(IntStream.range(0, 6144).map(i -> i * 2).toArray());
+  }
+
+  @Test
+  void test_add_range_should_span_chunks_and_run_optimize_should_shrink_serialised_size() {
+    IntBitmap bitmap = new IntBitmap();
+    bitmap.addRange(-70_000, 140_000);
+    bitmap.add(200_000);
+    assertThat(bitmap.cardinality()).isEqualTo(210_001);
+    assertThat(bitmap.contains(-70_000)).isTrue();
+    assertThat(bitmap.contains(139_999)).isTrue();
+    assertThat(bitmap.contains(140_000)).isFalse();
+
+    IntBitmap dense = IntBitmap.of(IntStream.range(0, 200_000).toArray());
+    int denseBytes = dense.serializedSizeInBytes();
+    dense.runOptimize();
+    assertThat(dense.serializedSizeInBytes()).isLessThan(denseBytes / 100);
+    assertThat(dense).isEqualTo(IntBitmap.of(IntStream.range(0, 200_000).toArray()));
+  }
+
+  @Test
+  void test_deserialize_should_return_equal_bitmap_when_buffer_is_serialised() {
+    IntBitmap bitmap = randomBitmap(new SplittableRandom(3));
+    bitmap.runOptimize();
+    ByteBuffer buffer = ByteBuffer.allocate(bitmap.serializedSizeInBytes() + 4);
+    buffer.putInt(7);
+    bitmap.serialize(buffer);
+    assertThat(buffer.hasRemaining()).isFalse();
+
+    IntBitmap read = IntBitmap.deserialize(buffer.position(4));
+    assertThat(read.cardinality()).isEqualTo(bitmap.cardinality());
+    assertThat(read).isEqualTo(bitmap).hasSameHashCodeAs(bitmap);
+    read.add(Integer.MIN_VALUE);
+    assertThat(read.contains(Integer.MIN_VALUE)).isTrue();
+    assertThat(read.cardinality()).isEqualTo(bitmap.cardinality() + 1);
+  }
+
+  @Test
+  void test_map_should_read_bitmap_written_to_file(@TempDir Path directory) {
+    IntBitmap bitmap = randomBitmap(new SplittableRandom(5));
+    Path file = directory.resolve("ids.bitmap");
+    assertThat(bitmap.writeTo(file).isSuccess()).isTrue();
+
+    IntBitmap mapped = IntBitmap.map(file).get();
+    assertThat(mapped.toArray()).isEqualTo(bitmap.toArray());
+    assertThat(IntBitmap.and(mapped, bitmap)).isEqualTo(bitmap);
+  }
+
+  @Test
+  void test_deserialize_should_throw_exception_when_buffer_is_not_a_bitmap(@TempDir Path directory) {
+    assertThatThrownBy(() -> IntBitmap.deserialize(ByteBuffer.allocate(16)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("buffer does not hold a serialised IntBitmap");
+    assertThat(IntBitmap.map(directory.resolve("missing")).isFailure()).isTrue();
+  }
+
+  @Test
+  void test_add_range_should_throw_exception_when_range_is_reversed() {
+    assertThatThrownBy(() -> new IntBitmap().addRange(2, 1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("to must not be less than from");
+    assertThatThrownBy(() -> IntBitmap.of((List<Integer>) null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("values must not be null");
+  }
+
+  // Mixes sparse chunks, dense chunks and long ranges over a few neighbouring chunks
+  private static IntBitmap randomBitmap(SplittableRandom random) {
+    IntBitmap bitmap = new IntBitmap();
+    for (int i = 0; i < 3_000; i++) {
+      bitmap.add(random.nextInt(-200_000, 200_000));
+    }
+    int denseChunk = random.nextInt(-3, 3) << 16;
+    for (int i = 0; i < 10_000; i++) {
+      bitmap.add(denseChunk + random.nextInt(1 << 16));
+    }
+    for (int i = 0; i < 5; i++) {
+      int start = random.nextInt(-200_000, 200_000);
+      bitmap.addRange(start, start + random.nextInt(1, 20_000));
+    }
+    return bitmap;
+  }
+
+  private static TreeSet<Integer> toSet(IntBitmap bitmap) {
+    TreeSet<Integer> set = new TreeSet<>();
+    bitmap.forEach(set::add);
+    return set;
+  }
+
+  private static int[] toArray(TreeSet<Integer> set) {
+    return set.stream().mapToInt(Integer::intValue).toArray();
+  }
+}
@@ -0,0 +1,80 @@
+package functional.streams.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class IntKernelsTest {
+
+  @Test
+  void test_kernels_should_be_vectorized_when_incubator_module_is_added() {
+    // surefire adds jdk.incubator.vector, so the vector path is the one exercised here
+    assertThat(IntKernels.isVectorized()).isTrue();
+  }
+
+  @Test
+  void test_vector_and_scalar_kernels_should_agree_with_streams_for_every_tail_length() {
+    SplittableRandom random = new SplittableRandom(11);
+    for (int length = 0; length < 70; length++) {
+      int[] values = random.ints(length).toArray();
+      assertThat(VectorIntKernels.sum(values)).isEqualTo(Arrays.stream(values).sum());
+      assertThat(IntKernels.scalarSum(values)).isEqualTo(Arrays.stream(values).sum());
+      assertThat(VectorIntKernels.anyOdd(values)).isEqualTo(IntKernels.scalarAnyOdd(values));
+      assertThat(VectorIntKernels.multiply(values, 3))
+          .isEqualTo(Arrays.stream(values).map(e -> e * 3).toArray())
+          .isEqualTo(IntKernels.scalarMultiply(values, 3));
+      if (length > 0) {
+        assertThat(VectorIntKernels.min(values)).isEqualTo(Arrays.stream(values).min().getAsInt());
+        assertThat(VectorIntKernels.max(values)).isEqualTo(Arrays.stream(values).max().getAsInt());
+        assertThat(IntKernels.scalarMin(values)).isEqualTo(Arrays.stream(values).min().getAsInt());
+        assertThat(IntKernels.scalarMax(values)).isEqualTo(Arrays.stream(values).max().getAsInt());
+      }
+    }
+  }
+
+  @Test
+  void test_multiple_of_five_should_match_unsigned_remainder() {
+    SplittableRandom random = new SplittableRandom(5);
+    int[] values =
+        IntStream.concat(
+                IntStream.of(0, 5, -5, Integer.MIN_VALUE, Integer.MAX_VALUE, -1, 858993459, -6),
+                random.ints(10_000).map(e -> random.nextBoolean() ? e - e % 5 : e))
+            .toArray();
+    for (int value : values) {
+      assertThat(IntKernels.isMultipleOfFive(value))
+          .as("%d", value)
+          .isEqualTo(Integer.remainderUnsigned(value, 5) == 0);
+    }
+  }
+
+  @Test
+  void test_all_multiples_of_five_should_find_a_non_multiple_in_vector_body_and_in_tail() {
+    int[] values = IntStream.range(0, 67).map(i -> i * 5).toArray();
+    assertThat(VectorIntKernels.allMultiplesOfFive(values)).isTrue();
+    assertThat(IntKernels.scalarAllMultiplesOfFive(values)).isTrue();
+    for (int position : new int[] {0, 17, 66}) {
+      int[] broken = values.clone();
+      broken[position] = -5;
+      assertThat(VectorIntKernels.allMultiplesOfFive(broken)).isFalse();
+      assertThat(IntKernels.scalarAllMultiplesOfFive(broken)).isFalse();
+    }
+  }
+
+  @Test
+  void test_double_elements_should_double_each_element() {
+    assertThat(IntKernels.doubleElements(new int[] {-5, 10, 0, 34, 9}))
+        .containsExactly(-10, 20, 0, 68, 18);
+  }
+
+  @Test
+  void test_min_should_throw_exception_when_array_is_empty() {
+    assertThatThrownBy(() -> IntKernels.min(new int[0]))
+        .isInstanceOf(NoSuchElementException.class)
+        .hasMessage("No Min element found");
+  }
+}
@@ -0,0 +1,72 @@
+package functional.streams.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class PhoneNumberScannerTest {
+
+  @Test
+  void test_extract_should_return_last_ten_digits_of_tokens_containing_a_phone_number() {
+    assertThat(
+            PhoneNumberScanner.extract(
+                "call (+1 023-034-9821) or +1234-345-2413\tnot 981-340-CDEA x12-345-678-9012y"))
+        .isEqualTo(List.of("0230349821", "2343452413", "3456789012"));
+  }
+
+  @Test
+  void test_extract_should_restart_partial_matches_inside_a_token() {
+    assertThat(PhoneNumberScanner.extract("12-1234-123-12345 1234-12-123-123-4567"))
+        .isEqualTo(List.of("3412312345", "1231234567"));
+  }
+
+  @Test
+  void test_extract_should_agree_with_regex_on_random_tokens() {
+    SplittableRandom random = new SplittableRandom(7);
+    String alphabet = "0123456789--a ";
+    for (int round = 0; round < 2_000; round++) {
+      StringBuilder text = new StringBuilder();
+      for (int i = random.nextInt(60); i > 0; i--) {
+        text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+      }
+      assertThat(PhoneNumberScanner.extract(CharBuffer.wrap(text)))
+          .as(text.toString())
+          .isEqualTo(withRegex(text.toString()));
+    }
+  }
+
+  @Test
+  void test_extract_all_should_skip_null_sentences() {
+    assertThat(PhoneNumberScanner.extractAll(Arrays.asList("023-020-2010", null)))
+        .isEqualTo(List.of("0230202010"));
+  }
+
+  @Test
+  void test_extract_from_file_should_return_phone_numbers_when_valid_file_is_passed() {
+    assertThat(PhoneNumberScanner.extractFromFile("src/main/resources", "PhoneNumberSample.txt"))
+        .isEqualTo(List.of("0230349821", "0230202010", "2343452413"));
+  }
+
+  @Test
+  void test_scan_should_throw_exception_when_text_is_null() {
+    assertThatThrownBy(() -> PhoneNumberScanner.extract(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("text must not be null");
+  }
+
+  private static List<String> withRegex(String text) {
+    return Arrays.stream(text.split("\\s+"))
+        .filter(word -> word.matches(".*\\d{3}-\\d{3}-\\d{4}.*"))
+        .map(
+            word -> {
+              String onlyDigits = word.replaceAll("\\D", "");
+              return onlyDigits.substring(onlyDigits.length() - 10);
+            })
+        .toList();
+  }
+}
@@ -0,0 +1,50 @@
+package functional.streams.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class RandomIntegersTest {
+
+  private static final int COUNT = RandomIntegers.BLOCK_SIZE * 5 + 123;
+
+  @Test
+  void test_ints_should_return_same_values_sequentially_in_parallel_and_when_filled() {
+    int[] sequential = RandomIntegers.ints(42, COUNT).toArray();
+    assertThat(RandomIntegers.ints(42, COUNT).parallel().toArray()).isEqualTo(sequential);
+    assertThat(RandomIntegers.generate(42, COUNT)).isEqualTo(sequential);
+    assertThat(RandomIntegers.ints(43, COUNT).toArray()).isNotEqualTo(sequential);
+  }
+
+  @Test
+  void test_ints_should_be_a_prefix_of_a_longer_run_with_the_same_seed() {
+    int[] longer = RandomIntegers.generate(7, COUNT);
+    assertThat(RandomIntegers.ints(7, 1_000).toArray())
+        .isEqualTo(Arrays.copyOf(longer, 1_000));
+  }
+
+  @Test
+  void test_bounded_ints_should_stay_in_range_and_be_reproducible() {
+    int[] values = RandomIntegers.generate(9, COUNT, -3, 4);
+    assertThat(Arrays.stream(values).allMatch(value -> value >= -3 && value < 4)).isTrue();
+    assertThat(values).contains(-3, 3);
+    assertThat(RandomIntegers.ints(9, COUNT, -3, 4).parallel().toArray()).isEqualTo(values);
+  }
+
+  @Test
+  void test_ints_should_report_exact_size() {
+    assertThat(RandomIntegers.ints(1, COUNT).spliterator().getExactSizeIfKnown()).isEqualTo(COUNT);
+  }
+
+  @Test
+  void test_ints_should_throw_exception_when_arguments_are_invalid() {
+    assertThatThrownBy(() -> RandomIntegers.ints(1, -1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("count should be positive");
+    assertThatThrownBy(() -> RandomIntegers.generate(1, 10, 5, 5))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("bound must be greater than origin");
+  }
+}
@@ -0,0 +1,64 @@
+package functional.streams.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class SortedMergeTest {
+
+  @Test
+  void test_merge_lists_should_return_sorted_elements_for_any_number_of_sources() {
+    SplittableRandom random = new SplittableRandom(17);
+    for (int k = 0; k <= 9; k++) {
+      List<List<Integer>> sources = new ArrayList<>();
+      List<Integer> expected = new ArrayList<>();
+      for (int source = 0; source < k; source++) {
+        List<Integer> values =
+            IntStream.range(0, random.nextInt(50))
+                .map(i -> random.nextInt(100))
+                .sorted()
+                .boxed()
+                .toList();
+        sources.add(values);
+        expected.addAll(values);
+      }
+      Collections.sort(expected);
+      assertThat(SortedMerge.mergeLists(sources, Comparator.<Integer>naturalOrder()))
+          .isEqualTo(expected);
+    }
+  }
+
+  @Test
+  void test_merge_should_keep_source_order_when_elements_are_equal() {
+    List<String> first = List.of("apple", "Banana", "cherry");
+    List<String> second = List.of("Apple", "banana");
+    assertThat(SortedMerge.mergeLists(List.of(first, second), String.CASE_INSENSITIVE_ORDER))
+        .containsExactly("apple", "Apple", "Banana", "banana", "cherry");
+  }
+
+  @Test
+  void test_merge_should_throw_exception_when_sources_are_exhausted() {
+    Iterator<Integer> merged =
+        SortedMerge.merge(List.of(List.of(1).iterator()), Comparator.<Integer>naturalOrder());
+    assertThat(merged.next()).isEqualTo(1);
+    assertThat(merged.hasNext()).isFalse();
+    assertThatThrownBy(merged::next).isInstanceOf(NoSuchElementException.class);
+  }
+
+  @Test
+  void test_is_sorted_should_return_false_when_elements_are_out_of_order() {
+    assertThat(SortedMerge.isSorted(List.of(1, 1, 2), Comparator.<Integer>naturalOrder())).isTrue();
+    assertThat(SortedMerge.isSorted(List.of(2, 1), Comparator.<Integer>naturalOrder())).isFalse();
+    assertThat(SortedMerge.isSorted(List.<Integer>of(), Comparator.<Integer>naturalOrder()))
+        .isTrue();
+  }
+}
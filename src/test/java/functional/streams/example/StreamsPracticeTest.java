@@ -7,8 +7,10 @@ import functional.enums.EmployeeTypeCode;
 import functional.utils.UTF8FileReaderUtility;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.IntSummaryStatistics;
 import java.util.List;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -190,6 +192,30 @@ class StreamsPracticeTest {
         .hasMessage("second list must not be null");
   }
 
+  @Test
+  void test_sort_two_list_must_merge_sorted_lists_and_sort_unsorted_ones() {
+    List<String> words1 = List.of("Apple", "Kangaroo", "Zoom");
+    List<String> words2 = Arrays.asList("Zebra", null, "Brick");
+    assertThat(streamsPractice.sortTwoList(words1, words2))
+        .containsExactly("Apple", "Brick", "Kangaroo", "Zebra", "Zoom");
+  }
+
+  @Test
+  void test_sort_two_list_must_return_sorted_stream_when_streams_exceed_memory_budget() {
+    Stream<String> words1 = Stream.of("Zebra", "Kangaroo", "Elephant");
+    Stream<String> words2 = Stream.of("Zoom", "Apple", "Brick");
+    try (Stream<String> sorted = streamsPractice.sortTwoList(words1, words2, 1)) {
+      assertThat(sorted).containsExactly("Apple", "Brick", "Elephant", "Kangaroo", "Zebra", "Zoom");
+    }
+  }
+
+  @Test
+  void test_sort_two_list_must_throw_exception_when_first_stream_is_null() {
+    assertThatThrownBy(() -> streamsPractice.sortTwoList(null, Stream.of("Zoom"), 1))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("first stream must not be null");
+  }
+
   @Test
   void test_check_if_unique_elements_only_should_return_false_when_list_contains_duplicate() {
     List<String> words = List.of("Zebra", "Kangaroo", "Elephant", "Kangaroo");
@@ -248,6 +274,41 @@ class StreamsPracticeTest {
                 "verifying"));
   }
 
+  @Test
+  void
+      test_get_unique_words_from_stream_should_return_unique_words_in_order_when_parallel_stream_is_passed() {
+    List<String> lines =
+        List.of("This is first sentence", "This is a test", "first test sentence of data");
+    assertThat(streamsPractice.getUniqueWordsFromStream(lines.stream().parallel()))
+        .isEqualTo(streamsPractice.getUniqueWordsFromSentences(lines));
+  }
+
+  @Test
+  void test_statistics_of_integers_should_skip_nulls_and_compute_all_metrics_in_one_call() {
+    IntSummaryStatistics statistics =
+        streamsPractice.statisticsOfIntegers(Arrays.asList(10, null, -10, 0, 24));
+    assertThat(statistics.getCount()).isEqualTo(4);
+    assertThat(statistics.getSum()).isEqualTo(24);
+    assertThat(statistics.getMin()).isEqualTo(-10);
+    assertThat(statistics.getMax()).isEqualTo(24);
+    assertThat(statistics.getAverage()).isEqualTo(6.0);
+  }
+
+  @Test
+  void test_boxed_aggregations_should_return_same_results_as_primitive_aggregations() {
+    List<Integer> boxed = List.of(10, -10, 0, 2, 24, 10);
+    int[] primitive = {10, -10, 0, 2, 24, 10};
+    assertThat(streamsPractice.sumOfIntegers(boxed)).isEqualTo(IntAggregations.sum(primitive));
+    assertThat(streamsPractice.averageOfIntegers(boxed))
+        .isEqualTo(IntAggregations.average(primitive));
+    assertThat(streamsPractice.min(boxed)).isEqualTo(IntAggregations.min(primitive));
+    assertThat(streamsPractice.max(boxed)).isEqualTo(IntAggregations.max(primitive));
+    assertThat(streamsPractice.isAllMultiplesOfFive(boxed))
+        .isEqualTo(IntAggregations.allMultiplesOfFive(primitive));
+    assertThat(streamsPractice.checkIfOddElementsArePresent(boxed))
+        .isEqualTo(IntAggregations.anyOdd(primitive));
+  }
+
   @Test
   void test_max_should_return_max_value_when_valid_list_is_passed() {
     assertThat(streamsPractice.max(List.of(10, -10, 0, 2, 24, 10))).isEqualTo(24);
@@ -299,6 +360,13 @@ class StreamsPracticeTest {
         .isInstanceOf(IllegalArgumentException.class);
   }
 
+  @Test
+  void test_random_integers_supplier_should_return_same_integers_when_same_seed_is_passed() {
+    assertThat(streamsPractice.randomIntegersSupplier(100, 42))
+        .hasSize(100)
+        .isEqualTo(streamsPractice.randomIntegersSupplier(100, 42));
+  }
+
   @Test
   void test_transform_integers_to_string_should_return_string_array_when_integer_list_is_passed() {
     assertThat(streamsPractice.transformIntegersToString(List.of(20, 34, 3, 21, -9)))
@@ -415,6 +483,17 @@ class StreamsPracticeTest {
         .hasSameElementsAs(List.of("0230349821", "0230202010", "2343452413"));
   }
 
+  @Test
+  void
+      test_get_valid_phone_numbers_from_stream_should_return_phone_numbers_when_parallel_file_stream_is_passed() {
+    try (Stream<String> sentences =
+        UTF8FileReaderUtility.streamFileContentsAsSentencesInParallel(
+            "src/main/resources", "PhoneNumberSample.txt")) {
+      assertThat(streamsPractice.getValidPhoneNumbersFromStream(sentences))
+          .isEqualTo(List.of("0230349821", "0230202010", "2343452413"));
+    }
+  }
+
   @Test
   void test_get_valid_phone_numbers_from_file_should_return_empty_list_when_empty_list_is_passed() {
     List<String> phoneNumbersFromFile =
@@ -468,6 +547,16 @@ class StreamsPracticeTest {
         .isEqualTo(List.of(1, 2, 3, 1, 2, 3, 4));
   }
 
+  @Test
+  void test_distinct_union_should_return_sorted_distinct_elements_of_both_lists() {
+    List<Integer> list1 = List.of(3, 1, 2, -7, 1);
+    List<Integer> list2 = List.of(1, 2, 3, 4, 70_000);
+    assertThat(streamsPractice.distinctUnion(list1, list2)).containsExactly(-7, 1, 2, 3, 4, 70_000);
+    assertThatThrownBy(() -> streamsPractice.distinctUnion(null, list2))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("list1 must not be null");
+  }
+
   @Test
   void test_intersection_should_return_empty_list_if_one_list_is_empty_is_passed() {
     List<String> list1 = Collections.emptyList();
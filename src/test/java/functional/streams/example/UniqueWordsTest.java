@@ -0,0 +1,37 @@
+package functional.streams.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class UniqueWordsTest {
+
+  @Test
+  void test_add_tokens_should_keep_first_seen_order_and_materialise_each_word_once() {
+    UniqueWords words = new UniqueWords();
+    words.addTokens("to be or not to be");
+    String to = words.toList().get(0);
+    words.addTokens(new StringBuilder("be to that"));
+    assertThat(words.toList()).containsExactly("to", "be", "or", "not", "that");
+    assertThat(words.toList().get(0)).isSameAs(to);
+  }
+
+  @Test
+  void test_merge_should_append_unseen_words_of_other_in_order() {
+    UniqueWords first = new UniqueWords();
+    first.addTokens("a b c");
+    UniqueWords second = new UniqueWords();
+    second.addTokens("d b e a");
+    first.merge(second);
+    assertThat(first.toList()).containsExactly("a", "b", "c", "d", "e");
+  }
+
+  @Test
+  void test_add_should_keep_all_words_when_table_resizes() {
+    UniqueWords words = new UniqueWords();
+    IntStream.range(0, 10_000).forEach(i -> words.addTokens("w" + i + " w" + (i / 2)));
+    assertThat(words.size()).isEqualTo(10_000);
+    assertThat(words.toList()).startsWith("w0", "w1", "w2").endsWith("w9999");
+  }
+}
@@ -0,0 +1,58 @@
+package functional.streams.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class WhitespaceTokenizerTest {
+
+  @Test
+  void test_tokenize_should_return_same_tokens_as_split_on_whitespace() {
+    List<String> lines =
+        new ArrayList<>(List.of("", " ", "a", " a", "a ", "  a\tb\n\nc  ", "\u000Bx\fy\rz", "ab"));
+    SplittableRandom random = new SplittableRandom(31);
+    String alphabet = "ab \t\n";
+    for (int i = 0; i < 500; i++) {
+      StringBuilder line = new StringBuilder();
+      for (int c = random.nextInt(12); c > 0; c--) {
+        line.append(alphabet.charAt(random.nextInt(alphabet.length())));
+      }
+      lines.add(line.toString());
+    }
+    for (String line : lines) {
+      assertThat(tokens(line)).as("'%s'", line).containsExactly(line.split("\\s+"));
+    }
+  }
+
+  @Test
+  void test_tokenize_should_pass_ranges_over_the_original_text() {
+    StringBuilder text = new StringBuilder("one  two");
+    List<Integer> offsets = new ArrayList<>();
+    WhitespaceTokenizer.tokenize(
+        text,
+        (sequence, start, end) -> {
+          assertThat(sequence).isSameAs(text);
+          offsets.add(start);
+          offsets.add(end);
+        });
+    assertThat(offsets).containsExactly(0, 3, 5, 8);
+  }
+
+  @Test
+  void test_tokenize_should_throw_exception_when_text_is_null() {
+    assertThatThrownBy(() -> WhitespaceTokenizer.tokenize(null, (text, start, end) -> {}))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("text must not be null");
+  }
+
+  private static List<String> tokens(String line) {
+    List<String> tokens = new ArrayList<>();
+    WhitespaceTokenizer.tokenize(
+        line, (text, start, end) -> tokens.add(text.subSequence(start, end).toString()));
+    return tokens;
+  }
+}
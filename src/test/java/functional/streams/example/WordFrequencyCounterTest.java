@@ -0,0 +1,56 @@
+package functional.streams.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class WordFrequencyCounterTest {
+
+  @Test
+  void test_count_should_skip_null_words_and_count_each_word_once_per_occurrence() {
+    WordFrequencyCounter counter =
+        WordFrequencyCounter.count(Arrays.asList("apple", null, "apple", "zebra"));
+    assertThat(counter.frequencyOf("apple")).isEqualTo(2);
+    assertThat(counter.frequencyOf("zebra")).isEqualTo(1);
+    assertThat(counter.frequencyOf("missing")).isZero();
+    assertThat(counter.frequencyOf(null)).isZero();
+    assertThat(counter.distinctWords()).isEqualTo(2);
+  }
+
+  @Test
+  void test_count_should_match_grouping_collector_when_table_has_to_grow() {
+    List<String> words = IntStream.range(0, 10_000).mapToObj(i -> "w" + (i % 1_234)).toList();
+    Map<String, Long> expected =
+        words.stream().collect(Collectors.groupingBy(w -> w, Collectors.counting()));
+    assertThat(WordFrequencyCounter.count(words).toFrequencyMap()).isEqualTo(expected);
+  }
+
+  @Test
+  void test_group_by_frequency_should_bucket_words_by_their_count() {
+    WordFrequencyCounter counter =
+        WordFrequencyCounter.count(List.of("a", "b", "b", "c", "c", "d", "d", "d"));
+    assertThat(counter.groupByFrequency())
+        .isEqualTo(Map.of(1, Set.of("a"), 2, Set.of("b", "c"), 3, Set.of("d")));
+  }
+
+  @Test
+  void test_constructor_should_throw_exception_when_expected_words_is_negative() {
+    assertThatThrownBy(() -> new WordFrequencyCounter(-1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("expectedWords should be positive");
+  }
+
+  @Test
+  void test_count_should_throw_exception_when_words_is_null() {
+    assertThatThrownBy(() -> WordFrequencyCounter.count(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("words must not be null");
+  }
+}
@@ -0,0 +1,97 @@
+package functional.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import functional.enums.EmployeeTypeCode;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class EnumRegistryTest {
+
+  // "Aa" and "BB" have the same hashCode, so no salt can separate them
+  private enum Colliding {
+    FIRST("Aa", 2),
+    SECOND("BB", 1),
+    THIRD("C", 2);
+
+    private final String code;
+    private final int rank;
+
+    Colliding(String code, int rank) {
+      this.code = code;
+      this.rank = rank;
+    }
+  }
+
+  private enum Duplicated {
+    FIRST,
+    SECOND
+  }
+
+  @Test
+  void test_from_employee_code_should_return_constant_for_every_code() {
+    for (EmployeeTypeCode employeeTypeCode : EmployeeTypeCode.values()) {
+      String code = employeeTypeCode.getEmployeeCode();
+      assertThat(EmployeeTypeCode.fromEmployeeCode(code)).isEqualTo(employeeTypeCode);
+      assertThat(EmployeeTypeCode.fromEmployeeCode(new StringBuilder(code)))
+          .isEqualTo(employeeTypeCode);
+      assertThat(EmployeeTypeCode.fromEmployeeCode("id=" + code + ";", 3, 3 + code.length()))
+          .isEqualTo(employeeTypeCode);
+    }
+    assertThat(EmployeeTypeCode.findByEmployeeCode("XYZ")).isEmpty();
+    assertThat(EmployeeTypeCode.findByEmployeeCode("S")).isEmpty();
+    assertThatThrownBy(() -> EmployeeTypeCode.fromEmployeeCode("dev"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("No EmployeeTypeCode with code dev");
+  }
+
+  @Test
+  void test_with_rank_below_should_match_a_scan_of_the_values_in_declaration_order() {
+    for (int limit = -1; limit <= 13; limit++) {
+      int rankLimit = limit;
+      assertThat(EmployeeTypeCode.withRankBelow(rankLimit))
+          .isEqualTo(
+              Arrays.stream(EmployeeTypeCode.values())
+                  .filter(e -> e.getRank() < rankLimit)
+                  .toList());
+    }
+    assertThat(EmployeeTypeCode.withRankBelow(8)).isSameAs(EmployeeTypeCode.withRankBelow(7 + 1));
+  }
+
+  @Test
+  void test_registry_should_find_codes_when_their_hashes_collide() {
+    EnumRegistry<Colliding> registry =
+        EnumRegistry.of(Colliding.class, colliding -> colliding.code, colliding -> colliding.rank);
+    assertThat(registry.byCode("Aa")).isEqualTo(Colliding.FIRST);
+    assertThat(registry.byCode("BB")).isEqualTo(Colliding.SECOND);
+    assertThat(registry.find("C")).isEqualTo(Optional.of(Colliding.THIRD));
+    assertThat(registry.find("AaBB")).isEmpty();
+    assertThat(registry.codes()).containsEntry(Colliding.THIRD, "C").hasSize(3);
+  }
+
+  @Test
+  void test_registry_should_answer_rank_queries_when_ranks_tie() {
+    EnumRegistry<Colliding> registry =
+        EnumRegistry.of(Colliding.class, colliding -> colliding.code, colliding -> colliding.rank);
+    assertThat(registry.byRank())
+        .containsExactly(Colliding.SECOND, Colliding.FIRST, Colliding.THIRD);
+    assertThat(registry.rankedBelow(2)).containsExactly(Colliding.SECOND);
+    assertThat(registry.rankedBelow(3))
+        .containsExactly(Colliding.FIRST, Colliding.SECOND, Colliding.THIRD);
+    assertThat(registry.rankedBetween(2, 3))
+        .isEqualTo(EnumSet.of(Colliding.FIRST, Colliding.THIRD));
+    assertThat(registry.rankedBetween(3, 2)).isEmpty();
+    assertThat(registry.rank(Colliding.THIRD)).isEqualTo(2);
+    assertThat(registry.code(Colliding.SECOND)).isEqualTo("BB");
+  }
+
+  @Test
+  void test_registry_should_throw_exception_when_codes_are_duplicated() {
+    assertThatThrownBy(() -> EnumRegistry.of(Duplicated.class, duplicated -> "X", Enum::ordinal))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("duplicate code X");
+  }
+}
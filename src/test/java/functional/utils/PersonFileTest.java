@@ -0,0 +1,89 @@
+package functional.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import functional.model.Person;
+import io.vavr.control.Try;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PersonFileTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  void test_open_should_read_back_the_written_people() {
+    List<Person> people = new ArrayList<>(SampleDataProvider.getPeople());
+    people.add(person(null, "Nobody", LocalDate.of(1970, Month.JANUARY, 1)));
+    people.add(person("Zoë", null, LocalDate.of(1850, Month.DECEMBER, 31)));
+    Path path = PersonFile.write(tempDir.resolve("people.bin"), people).get();
+
+    PersonFile file = PersonFile.open(path).get();
+    assertThat(file.size()).isEqualTo(people.size());
+    for (int row = 0; row < people.size(); row++) {
+      Person person = people.get(row);
+      assertThat(file.firstName(row)).isEqualTo(person.getFirstName());
+      assertThat(file.lastName(row)).isEqualTo(person.getLastName());
+      assertThat(file.dateOfBirth(row)).isEqualTo(person.getDateOfBirth());
+    }
+    assertThat(file.people()).usingRecursiveComparison().isEqualTo(people);
+  }
+
+  @Test
+  void test_to_table_should_answer_age_queries_like_the_people() {
+    List<Person> people =
+        IntStream.range(0, 100_000)
+            .mapToObj(
+                i ->
+                    person(
+                        "First" + i % 97,
+                        "Last" + i % 1_009,
+                        LocalDate.of(1950, Month.JANUARY, 1).plusDays(i % 25_000)))
+            .toList();
+    Path path = PersonFile.write(tempDir.resolve("people.bin"), people.iterator()).get();
+    LocalDate today = LocalDate.of(2024, Month.FEBRUARY, 29);
+
+    PersonTable table = PersonFile.open(path).get().toTable();
+    PersonTable expected = PersonTable.of(people);
+    assertThat(table.size()).isEqualTo(people.size());
+    assertThat(table.ages(today)).isEqualTo(expected.ages(today));
+    assertThat(table.rowsAtLeast(18, today)).isEqualTo(expected.rowsAtLeast(18, today));
+    assertThat(table.person(12_345)).usingRecursiveComparison().isEqualTo(people.get(12_345));
+  }
+
+  @Test
+  void test_open_should_return_empty_file_when_no_people_are_written() {
+    Path path = PersonFile.write(tempDir.resolve("people.bin"), List.of()).get();
+    PersonFile file = PersonFile.open(path).get();
+    assertThat(file.size()).isZero();
+    assertThat(file.people()).isEmpty();
+    assertThat(file.toTable().size()).isZero();
+  }
+
+  @Test
+  void test_open_should_fail_when_file_is_not_a_person_file() throws IOException {
+    Path path = Files.writeString(tempDir.resolve("people.csv"), "Jane,Doe,1992-02-01\n".repeat(3));
+    Try<PersonFile> file = PersonFile.open(path);
+    assertThat(file.isFailure()).isTrue();
+    assertThat(file.getCause())
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("not a person file");
+    assertThat(PersonFile.open(tempDir.resolve("missing.bin")).isFailure()).isTrue();
+  }
+
+  private static Person person(String firstName, String lastName, LocalDate dateOfBirth) {
+    return Person.builder()
+        .withFirstName(firstName)
+        .withLastName(lastName)
+        .withDateOfBirth(dateOfBirth)
+        .build();
+  }
+}
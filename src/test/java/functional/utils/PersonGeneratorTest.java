@@ -0,0 +1,128 @@
+package functional.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import functional.model.Person;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PersonGeneratorTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  void test_stream_should_return_same_people_when_seed_is_same() {
+    List<String> people = keys(PersonGenerator.builder().withSeed(7L).build().stream(1_000));
+    assertThat(keys(PersonGenerator.builder().withSeed(7L).build().stream(1_000)))
+        .isEqualTo(people);
+    assertThat(keys(PersonGenerator.builder().withSeed(8L).build().stream(1_000)))
+        .isNotEqualTo(people);
+    assertThat(keys(SampleDataProvider.getPeople(7L, 1_000).stream())).isEqualTo(people);
+  }
+
+  @Test
+  void test_stream_should_return_same_people_when_generated_in_parallel_or_in_shards() {
+    PersonGenerator generator = PersonGenerator.builder().withDuplicateNameRate(0.3).build();
+    List<String> people = keys(generator.stream(100_003));
+
+    assertThat(keys(generator.stream(100_003).parallel())).isEqualTo(people);
+    Stream<Person> shards =
+        IntStream.range(0, 7).boxed().flatMap(shard -> generator.shard(100_003, 7, shard));
+    assertThat(keys(shards)).isEqualTo(people);
+    assertThat(generator.shard(5, 7, 6)).isEmpty();
+    assertThat(keys(Stream.of(generator.person(12_345)))).containsExactly(people.get(12_345));
+  }
+
+  @Test
+  void test_stream_should_follow_name_skew_and_date_range() {
+    LocalDate bornFrom = LocalDate.of(2000, Month.JANUARY, 1);
+    LocalDate bornTo = LocalDate.of(2000, Month.DECEMBER, 31);
+    List<Person> people =
+        PersonGenerator.builder()
+            .withFirstNames(List.of("Mary", "Jane", "Jason"))
+            .withNameSkew(2.0)
+            .withBornFrom(bornFrom)
+            .withBornTo(bornTo)
+            .withDateOfBirthSkew(3.0)
+            .build()
+            .people(10_000);
+
+    Map<String, Long> firstNames =
+        people.stream().collect(Collectors.groupingBy(Person::getFirstName, Collectors.counting()));
+    // Weights 1, 1/4 and 1/9
+    assertThat(firstNames.get("Mary")).isBetween(7_000L, 7_700L);
+    assertThat(firstNames.get("Jane")).isBetween(1_600L, 2_100L);
+    assertThat(firstNames.get("Jason")).isBetween(600L, 1_000L);
+    assertThat(people)
+        .allMatch(person -> !person.getDateOfBirth().isBefore(bornFrom))
+        .allMatch(person -> !person.getDateOfBirth().isAfter(bornTo));
+    long bornInSecondHalf =
+        people.stream().filter(person -> person.getDateOfBirth().getMonthValue() > 6).count();
+    assertThat(bornInSecondHalf).isGreaterThan(8_000L);
+  }
+
+  @Test
+  void test_stream_should_repeat_full_names_when_duplicate_name_rate_is_set() {
+    List<String> lastNames = IntStream.range(0, 100_000).mapToObj(i -> "Last" + i).toList();
+    PersonGenerator.PersonGeneratorBuilder builder =
+        PersonGenerator.builder().withLastNames(lastNames).withNameSkew(0.0);
+
+    assertThat(distinctFullNames(builder.build().people(1_000))).isGreaterThan(990L);
+    assertThat(distinctFullNames(builder.withDuplicateNameRate(0.5).build().people(1_000)))
+        .isBetween(450L, 560L);
+  }
+
+  @Test
+  void test_write_to_should_write_people_file_when_path_is_valid() {
+    PersonGenerator generator = PersonGenerator.builder().build();
+    Path path = generator.writeTo(tempDir.resolve("people.bin"), 5_000).get();
+    assertThat(keys(PersonFile.open(path).get().people().stream()))
+        .isEqualTo(keys(generator.stream(5_000)));
+  }
+
+  @Test
+  void test_builder_should_throw_exception_when_settings_are_invalid() {
+    assertThatThrownBy(() -> PersonGenerator.builder().withFirstNames(List.of()).build())
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("firstNames must not be empty");
+    assertThatThrownBy(() -> PersonGenerator.builder().withDuplicateNameRate(1.5).build())
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("duplicateNameRate should be between 0 and 1");
+    assertThatThrownBy(
+            () ->
+                PersonGenerator.builder()
+                    .withBornFrom(LocalDate.of(2000, Month.JANUARY, 2))
+                    .withBornTo(LocalDate.of(2000, Month.JANUARY, 1))
+                    .build())
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("bornTo must not be before bornFrom");
+  }
+
+  private static long distinctFullNames(List<Person> people) {
+    return people.stream()
+        .map(person -> person.getFirstName() + " " + person.getLastName())
+        .distinct()
+        .count();
+  }
+
+  private static List<String> keys(Stream<Person> people) {
+    return people
+        .map(
+            person ->
+                String.join(
+                    " ",
+                    person.getFirstName(),
+                    person.getLastName(),
+                    person.getDateOfBirth().toString()))
+        .toList();
+  }
+}
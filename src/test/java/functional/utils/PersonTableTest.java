@@ -0,0 +1,97 @@
+package functional.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import functional.model.Person;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class PersonTableTest {
+
+  private static final LocalDate TODAY = LocalDate.of(2024, Month.FEBRUARY, 29);
+
+  @Test
+  void test_of_should_keep_every_column_of_the_people() {
+    List<Person> people = SampleDataProvider.getPeople();
+    PersonTable table = PersonTable.of(people);
+    assertThat(table.size()).isEqualTo(people.size());
+    for (int row = 0; row < people.size(); row++) {
+      Person person = people.get(row);
+      assertThat(table.firstName(row)).isEqualTo(person.getFirstName());
+      assertThat(table.lastName(row)).isEqualTo(person.getLastName());
+      assertThat(table.dateOfBirth(row)).isEqualTo(person.getDateOfBirth());
+      assertThat(table.person(row)).usingRecursiveComparison().isEqualTo(person);
+    }
+  }
+
+  @Test
+  void test_ages_should_match_period_between_including_leap_days() {
+    SplittableRandom random = new SplittableRandom(7);
+    List<Person> people = new ArrayList<>();
+    people.add(person("Leap", "Day", LocalDate.of(2000, Month.FEBRUARY, 29)));
+    people.add(person("Not", "Born", LocalDate.of(2030, Month.JANUARY, 1)));
+    people.add(person("Very", "Old", LocalDate.of(1800, Month.MARCH, 1)));
+    for (int i = 0; i < 2_000; i++) {
+      people.add(person("P", "" + i, LocalDate.ofEpochDay(random.nextInt(-30_000, 20_000))));
+    }
+    PersonTable table = PersonTable.of(people);
+    for (LocalDate today : List.of(TODAY, TODAY.minusDays(1), TODAY.plusDays(1))) {
+      int[] ages = table.ages(today);
+      for (int row = 0; row < people.size(); row++) {
+        int expected = Period.between(people.get(row).getDateOfBirth(), today).getYears();
+        assertThat(ages[row]).isEqualTo(expected);
+        assertThat(table.age(row, today)).isEqualTo(expected);
+      }
+    }
+  }
+
+  @Test
+  void test_partition_by_age_should_split_full_names_on_birthday_cutoff() {
+    PersonTable table =
+        PersonTable.of(
+            List.of(
+                person("Eighteen", "Today", LocalDate.of(2006, Month.FEBRUARY, 28)),
+                person("Eighteen", "Tomorrow", LocalDate.of(2006, Month.MARCH, 1)),
+                person("Jane", "Doe", LocalDate.of(1992, Month.FEBRUARY, 1))));
+    assertThat(table.partitionByAge(18, TODAY))
+        .isEqualTo(
+            Map.of(
+                true, List.of("Eighteen Today", "Jane Doe"),
+                false, List.of("Eighteen Tomorrow")));
+    assertThat(table.rowsAtLeast(18, TODAY)).containsExactly(0, 2);
+    assertThat(table.rowsBelow(18, TODAY)).containsExactly(1);
+  }
+
+  @Test
+  void test_full_name_and_age_should_throw_exception_when_full_names_repeat() {
+    LocalDate dateOfBirth = LocalDate.of(2000, Month.JANUARY, 1);
+    PersonTable table =
+        PersonTable.of(
+            List.of(person("Mary", "Jane", dateOfBirth), person("Mary", "Jane", dateOfBirth)));
+    assertThatThrownBy(() -> table.fullNameAndAge(TODAY))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Duplicate key Mary Jane (attempted merging values 24 and 24)");
+  }
+
+  @Test
+  void test_of_should_throw_exception_when_date_of_birth_is_null() {
+    assertThatThrownBy(() -> PersonTable.of(List.of(person("No", "Date", null))))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("dateOfBirth must not be null");
+  }
+
+  private static Person person(String firstName, String lastName, LocalDate dateOfBirth) {
+    return Person.builder()
+        .withFirstName(firstName)
+        .withLastName(lastName)
+        .withDateOfBirth(dateOfBirth)
+        .build();
+  }
+}
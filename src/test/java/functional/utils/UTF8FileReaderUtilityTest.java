@@ -1,10 +1,20 @@
 package functional.utils;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
-import static org.assertj.core.api.AssertionsForClassTypes.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class UTF8FileReaderUtilityTest {
 
@@ -28,4 +38,132 @@ class UTF8FileReaderUtilityTest {
                     "src/test/resources", "invalid.txt"))
         .doesNotThrowAnyException();
   }
+
+  @Test
+  void
+      test_stream_file_contents_as_sentences_should_return_same_sentences_as_eager_read_when_file_is_valid() {
+    List<String> eager =
+        UTF8FileReaderUtility.getFileContentsAsSentencesFromResources(
+            "src/main/resources", "PhoneNumberSample.txt");
+    try (Stream<String> sentences =
+        UTF8FileReaderUtility.streamFileContentsAsSentences(
+            "src/main/resources", "PhoneNumberSample.txt")) {
+      assertThat(sentences.toList())
+          .isEqualTo(eager.stream().filter(sentence -> !sentence.isEmpty()).toList());
+    }
+  }
+
+  @Test
+  void
+      test_stream_file_contents_as_sentences_should_keep_sentences_and_characters_across_small_windows(
+          @TempDir Path directory) throws IOException {
+    String content = "Grüße aus Köln. 日本語の文です\r\nemoji 😀 crosses. ..last one";
+    Files.writeString(directory.resolve("utf8.txt"), content, StandardCharsets.UTF_8);
+    List<String> expected =
+        List.of("Grüße aus Köln", "日本語の文です", "emoji 😀 crosses", "last one");
+
+    for (int windowSize = 4; windowSize < 12; windowSize++) {
+      try (Stream<String> sentences =
+          UTF8FileReaderUtility.streamFileContentsAsSentences(
+              directory.toString(), "utf8.txt", windowSize)) {
+        assertThat(sentences.toList()).isEqualTo(expected);
+      }
+      try (MappedSentenceSpliterator spliterator =
+          new MappedSentenceSpliterator(directory.resolve("utf8.txt"), windowSize, 2)) {
+        assertThat(StreamSupport.stream(spliterator, false).toList()).isEqualTo(expected);
+      }
+    }
+  }
+
+  @Test
+  void test_stream_file_contents_as_sentences_should_return_empty_stream_when_file_is_empty(
+      @TempDir Path directory) throws IOException {
+    Files.createFile(directory.resolve("empty.txt"));
+    try (Stream<String> sentences =
+        UTF8FileReaderUtility.streamFileContentsAsSentences(directory.toString(), "empty.txt")) {
+      assertThat(sentences.count()).isZero();
+    }
+  }
+
+  @Test
+  void test_stream_file_contents_as_sentences_should_return_empty_stream_when_file_is_invalid() {
+    try (Stream<String> sentences =
+        UTF8FileReaderUtility.streamFileContentsAsSentences("src/test/resources", "invalid.txt")) {
+      assertThat(sentences.count()).isZero();
+    }
+  }
+
+  @Test
+  void
+      test_stream_file_contents_as_sentences_in_parallel_should_return_sentences_in_file_order(
+          @TempDir Path directory) throws IOException {
+    StringBuilder content = new StringBuilder();
+    for (int i = 0; i < 5_000; i++) {
+      content.append("Sätze ").append(i).append(i % 3 == 0 ? ".\n" : ". ");
+    }
+    Files.writeString(directory.resolve("large.txt"), content, StandardCharsets.UTF_8);
+
+    List<String> sequential;
+    try (Stream<String> sentences =
+        UTF8FileReaderUtility.streamFileContentsAsSentences(directory.toString(), "large.txt")) {
+      sequential = sentences.toList();
+    }
+    try (Stream<String> sentences =
+        UTF8FileReaderUtility.streamFileContentsAsSentencesInParallel(
+            directory.toString(), "large.txt", 64, 256)) {
+      assertThat(sentences.isParallel()).isTrue();
+      assertThat(sentences.toList()).hasSize(5_000).isEqualTo(sequential);
+    }
+  }
+
+  @Test
+  void test_sentence_range_spliterator_should_split_on_sentence_boundaries(@TempDir Path directory)
+      throws IOException {
+    Path file = directory.resolve("split.txt");
+    Files.writeString(file, "first sentence. second one. third one is here. fourth");
+    try (FileChannel channel = FileChannel.open(file)) {
+      SentenceRangeSpliterator suffix =
+          new SentenceRangeSpliterator(channel, 0, channel.size(), 4, 16);
+      Spliterator<String> prefix = suffix.trySplit();
+
+      assertThat(prefix).isNotNull();
+      assertThat(prefix.estimateSize() + suffix.estimateSize()).isEqualTo(channel.size());
+      assertThat(StreamSupport.stream(prefix, false).toList())
+          .isEqualTo(List.of("first sentence", "second one"));
+      assertThat(StreamSupport.stream(suffix, false).toList())
+          .isEqualTo(List.of("third one is here", "fourth"));
+    }
+  }
+
+  @Test
+  void test_sentence_range_spliterator_should_unmap_ranges_left_half_read_when_closed(
+      @TempDir Path directory) throws IOException {
+    Path file = directory.resolve("split.txt");
+    Files.writeString(file, "first sentence. second one. third one is here. fourth");
+    try (FileChannel channel = FileChannel.open(file)) {
+      SentenceRangeSpliterator suffix =
+          new SentenceRangeSpliterator(channel, 0, channel.size(), 4, 16);
+      Spliterator<String> prefix = suffix.trySplit();
+      List<String> read = new ArrayList<>();
+
+      assertThat(prefix.tryAdvance(read::add)).isTrue();
+      assertThat(suffix.tryAdvance(read::add)).isTrue();
+      assertThat(suffix.mappedRanges()).isEqualTo(2);
+      suffix.close();
+
+      assertThat(suffix.mappedRanges()).isZero();
+      assertThat(prefix.tryAdvance(read::add)).isFalse();
+      assertThat(read).containsExactly("first sentence", "third one is here");
+    }
+  }
+
+  @Test
+  void
+      test_stream_file_contents_as_sentences_in_parallel_should_return_empty_stream_when_file_is_invalid() {
+    try (Stream<String> sentences =
+        UTF8FileReaderUtility.streamFileContentsAsSentencesInParallel(
+            "src/test/resources", "invalid.txt")) {
+      assertThat(sentences.count()).isZero();
+    }
+  }
 }
@@ -0,0 +1,177 @@
+package functional.vavr.concepts;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.base.Ticker;
+import functional.vavr.concepts.Memoizer.MemoizedFunction1;
+import functional.vavr.concepts.Memoizer.MemoizedFunction2;
+import io.vavr.Function1;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class MemoizerTest {
+
+  @Test
+  void test_memoize_should_compute_once_per_argument_and_count_hits_and_misses() {
+    AtomicInteger calls = new AtomicInteger();
+    MemoizedFunction1<String, Integer> parse =
+        Memoizer.builder()
+            .withMaximumSize(100L)
+            .build()
+            .memoize(
+                (String value) -> {
+                  calls.incrementAndGet();
+                  return Integer.parseInt(value);
+                });
+
+    List<Integer> parsed =
+        new VavrFunctionsFeatures().compose(List.of("1", "2", "1", "1"), parse, a -> a * 10);
+    assertThat(parsed).containsExactly(10, 20, 10, 10);
+    assertThat(calls).hasValue(2);
+    assertThat(parse.stats().hitCount()).isEqualTo(2);
+    assertThat(parse.stats().missCount()).isEqualTo(2);
+    assertThat(parse.size()).isEqualTo(2);
+  }
+
+  @Test
+  void test_memoize_should_evict_entries_when_maximum_size_is_reached() {
+    MemoizedFunction1<Integer, Integer> square =
+        Memoizer.builder().withMaximumSize(10L).build().memoize((Integer a) -> a * a);
+    IntStream.range(0, 1_000).forEach(square::apply);
+    assertThat(square.size()).isLessThanOrEqualTo(10);
+    assertThat(square.stats().evictionCount()).isGreaterThanOrEqualTo(990);
+  }
+
+  @Test
+  void test_memoize_should_recompute_when_entry_has_expired() {
+    AtomicLong nanos = new AtomicLong();
+    Ticker ticker =
+        new Ticker() {
+          @Override
+          public long read() {
+            return nanos.get();
+          }
+        };
+    AtomicInteger calls = new AtomicInteger();
+    MemoizedFunction1<Integer, Integer> plusCalls =
+        Memoizer.builder()
+            .withMaximumSize(10L)
+            .withExpireAfterWrite(Duration.ofSeconds(5))
+            .withTicker(ticker)
+            .build()
+            .memoize((Integer a) -> a + calls.incrementAndGet());
+
+    assertThat(plusCalls.apply(10)).isEqualTo(11);
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(4));
+    assertThat(plusCalls.apply(10)).isEqualTo(11);
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+    assertThat(plusCalls.apply(10)).isEqualTo(12);
+  }
+
+  @Test
+  void test_memoize_should_compute_once_when_threads_miss_the_same_argument() throws Exception {
+    CountDownLatch computing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger calls = new AtomicInteger();
+    MemoizedFunction1<String, String> slow =
+        Memoizer.builder()
+            .withMaximumSize(10L)
+            .build()
+            .memoize(
+                (String value) -> {
+                  calls.incrementAndGet();
+                  computing.countDown();
+                  awaitQuietly(release);
+                  return value.toUpperCase();
+                });
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<String>> results =
+          IntStream.range(0, 4).mapToObj(i -> executor.submit(() -> slow.apply("a"))).toList();
+      computing.await();
+      release.countDown();
+      for (Future<String> result : results) {
+        assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("A");
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void test_memoize_should_cache_null_and_not_cache_exceptions() {
+    AtomicInteger calls = new AtomicInteger();
+    MemoizedFunction1<String, String> nullable =
+        Memoizer.builder()
+            .withMaximumSize(10L)
+            .build()
+            .memoize(
+                (String value) -> {
+                  calls.incrementAndGet();
+                  if ("boom".equals(value)) throw new IllegalArgumentException("boom");
+                  return value;
+                });
+
+    assertThat(nullable.apply(null)).isNull();
+    assertThat(nullable.apply(null)).isNull();
+    assertThat(calls).hasValue(1);
+    assertThatThrownBy(() -> nullable.apply("boom"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("boom");
+    assertThatThrownBy(() -> nullable.apply("boom")).isInstanceOf(IllegalArgumentException.class);
+    assertThat(calls).hasValue(3);
+  }
+
+  @Test
+  void test_memoize_should_key_function2_on_both_arguments() {
+    AtomicInteger calls = new AtomicInteger();
+    MemoizedFunction2<Integer, Integer, Integer> add =
+        Memoizer.builder()
+            .withMaximumSize(10L)
+            .build()
+            .memoize(
+                (Integer a, Integer b) -> {
+                  calls.incrementAndGet();
+                  return a + b;
+                });
+
+    assertThat(add.apply(1, 2)).isEqualTo(3);
+    assertThat(add.apply(2, 1)).isEqualTo(3);
+    assertThat(add.apply(1, 2)).isEqualTo(3);
+    Function1<Integer, Integer> addOne = add.apply(1);
+    assertThat(addOne.apply(2)).isEqualTo(3);
+    assertThat(calls).hasValue(2);
+    add.invalidateAll();
+    assertThat(add.size()).isZero();
+  }
+
+  @Test
+  void test_builder_should_throw_exception_when_maximum_size_is_not_positive() {
+    assertThatThrownBy(() -> Memoizer.builder().withMaximumSize(0L).build())
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maximumSize should be positive");
+    assertThatThrownBy(() -> Memoizer.builder().build())
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("maximumSize must not be null");
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
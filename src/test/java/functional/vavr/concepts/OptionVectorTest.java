@@ -0,0 +1,103 @@
+package functional.vavr.concepts;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.vavr.Function1;
+import io.vavr.control.Option;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class OptionVectorTest {
+
+  private final Function1<String, Integer> parse = Integer::parseInt;
+
+  @Test
+  void test_lift_should_match_function1_lift_for_every_position() {
+    List<String> items =
+        IntStream.range(0, 1_000).mapToObj(i -> i % 7 == 0 ? i + "x" : "" + i).toList();
+    OptionVector<Integer> lifted = OptionVector.lift(items, parse);
+
+    Function1<String, Option<Integer>> expected = Function1.lift(parse);
+    assertThat(lifted.asOptions()).isEqualTo(items.stream().map(expected).toList());
+    assertThat(lifted.size()).isEqualTo(1_000);
+    assertThat(lifted.definedCount()).isEqualTo(857);
+    assertThat(lifted.isDefined(7)).isFalse();
+    assertThat(lifted.getOrElse(7, -1)).isEqualTo(-1);
+    assertThat(lifted.getOrElse(8, -1)).isEqualTo(8);
+  }
+
+  @Test
+  void test_defined_values_should_skip_empty_positions_in_order() {
+    OptionVector<Integer> lifted = OptionVector.lift(List.of("1", "1g", "5", "1e00", "9"), parse);
+    assertThat(lifted.definedValues()).containsExactly(1, 5, 9);
+
+    List<String> visited = new ArrayList<>();
+    lifted.forEachDefined((value, index) -> visited.add(index + "=" + value));
+    assertThat(visited).containsExactly("0=1", "2=5", "4=9");
+    assertThatThrownBy(() -> lifted.definedValues().set(0, 2))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void test_lift_should_keep_null_results_defined() {
+    Function1<String, String> nullable = value -> value.isEmpty() ? null : value;
+    OptionVector<String> lifted = OptionVector.lift(Arrays.asList("a", "", null), nullable);
+    assertThat(lifted.asOptions())
+        .containsExactly(Option.of("a"), Option.some(null), Option.none());
+  }
+
+  @Test
+  void test_primitive_lifts_should_keep_values_unboxed() {
+    List<String> items = List.of("1", "x", "3", "", "5");
+    OptionVector.OfInt ints = OptionVector.liftToInt(items, Integer::parseInt);
+    assertThat(ints.definedValues().toArray()).containsExactly(1, 3, 5);
+    assertThat(ints.getOrElse(1, 0)).isZero();
+    assertThat(ints.get(4)).isEqualTo(Option.of(5));
+
+    OptionVector.OfLong longs = OptionVector.liftToLong(items, Long::parseLong);
+    assertThat(longs.definedValues().sum()).isEqualTo(9L);
+    assertThat(longs.isDefined(3)).isFalse();
+
+    OptionVector.OfDouble doubles = OptionVector.liftToDouble(items, Double::parseDouble);
+    assertThat(doubles.definedCount()).isEqualTo(3);
+    assertThat(doubles.getOrElse(2, Double.NaN)).isEqualTo(3.0);
+    assertThat(doubles.get(1)).isEqualTo(Option.none());
+  }
+
+  @Test
+  void test_lift_should_leave_position_empty_when_function_throws_non_fatal_error() {
+    Function1<String, String> asserting =
+        value -> {
+          if (value.isEmpty()) throw new AssertionError("empty");
+          return value;
+        };
+    List<String> items = List.of("a", "", "c");
+
+    assertThat(OptionVector.lift(items, asserting).asOptions())
+        .isEqualTo(items.stream().map(Function1.lift(asserting)).toList());
+  }
+
+  @Test
+  void test_lift_should_rethrow_fatal_errors() {
+    Function1<String, String> overflowing =
+        value -> {
+          throw new StackOverflowError();
+        };
+
+    assertThatThrownBy(() -> OptionVector.lift(List.of("a"), overflowing))
+        .isInstanceOf(StackOverflowError.class);
+  }
+
+  @Test
+  void test_lift_all_should_throw_exception_when_items_are_null() {
+    assertThatThrownBy(() -> new VavrFunctionsFeatures().liftAll(null, parse))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("items cannot be null");
+    assertThatThrownBy(() -> OptionVector.lift(List.of("1"), parse).get(1))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+}
@@ -0,0 +1,84 @@
+package functional.vavr.concepts;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.vavr.Function1;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class PipelineTest {
+
+  @Test
+  void test_apply_should_run_every_stage_in_order_when_chain_is_longer_than_two() {
+    Function1<String, Integer> parse = Integer::parseInt;
+    Pipeline<String, String> pipeline =
+        Pipeline.of(parse).then(a -> a * 10).then(a -> a + 1).then(a -> "#" + a);
+    assertThat(pipeline.size()).isEqualTo(4);
+    assertThat(pipeline.apply(List.of("1", "2", "100"))).containsExactly("#11", "#21", "#1001");
+    assertThat(pipeline.apply(Stream.of("3"))).containsExactly("#31");
+    assertThat(pipeline.apply(new String[] {"4", "5"}, String[]::new))
+        .containsExactly("#41", "#51");
+  }
+
+  @Test
+  void test_fuse_should_match_nested_compose_for_every_chain_length() {
+    Function1<Integer, Integer> plusOne = a -> a + 1;
+    Function1<Integer, Integer> timesTwo = a -> a * 2;
+    Pipeline<Integer, Integer> pipeline = Pipeline.identity();
+    Function1<Integer, Integer> composed = Function1.identity();
+    for (int length = 0; length <= 5; length++) {
+      assertThat(pipeline.fuse().apply(7)).isEqualTo(composed.apply(7));
+      Function1<Integer, Integer> stage = length % 2 == 0 ? plusOne : timesTwo;
+      pipeline = pipeline.then(stage);
+      composed = composed.andThen(stage);
+    }
+  }
+
+  @Test
+  void test_then_should_leave_the_original_pipeline_unchanged() {
+    Pipeline<Integer, Integer> plusOne = Pipeline.of(a -> a + 1);
+    Pipeline<Integer, Integer> plusTwo = plusOne.then(a -> a + 1);
+    assertThat(plusOne.fuse().apply(0)).isEqualTo(1);
+    assertThat(plusTwo.fuse().apply(0)).isEqualTo(2);
+    assertThat(Pipeline.<String>identity().apply(List.of("a"))).containsExactly("a");
+  }
+
+  @Test
+  void test_then_ints_should_run_int_stages_between_object_stages() {
+    AtomicInteger conversions = new AtomicInteger();
+    IntPipeline ints = IntPipeline.of(a -> a * 10).then(a -> a + 1).then(Math::negateExact);
+    Pipeline<String, String> pipeline =
+        Pipeline.<String>identity()
+            .thenInts(
+                value -> {
+                  conversions.incrementAndGet();
+                  return Integer.parseInt(value);
+                },
+                ints,
+                Integer::toString);
+    assertThat(pipeline.apply(List.of("1", "2"))).containsExactly("-11", "-21");
+    assertThat(conversions).hasValue(2);
+  }
+
+  @Test
+  void test_int_pipeline_should_apply_stages_to_arrays_and_streams() {
+    IntPipeline pipeline = IntPipeline.of(a -> a + 1).then(a -> a * a).then(a -> a - 1);
+    assertThat(pipeline.apply(new int[] {0, 1, 2})).containsExactly(0, 3, 8);
+    assertThat(pipeline.apply(IntStream.range(0, 3)).toArray()).containsExactly(0, 3, 8);
+    assertThat(IntPipeline.identity().apply(new int[] {4})).containsExactly(4);
+  }
+
+  @Test
+  void test_then_should_throw_exception_when_stage_is_null() {
+    assertThatThrownBy(() -> Pipeline.of(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("stage cannot be null");
+    assertThatThrownBy(() -> IntPipeline.identity().apply((int[]) null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("items cannot be null");
+  }
+}
@@ -0,0 +1,175 @@
+package functional.vavr.concepts;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import functional.vavr.concepts.TryBatchExecutor.BatchResult;
+import io.vavr.CheckedFunction0;
+import io.vavr.control.Try;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class TryBatchExecutorTest {
+
+  @Test
+  void test_run_should_return_results_in_input_order_when_tasks_complete_out_of_order()
+      throws InterruptedException {
+    List<CheckedFunction0<Integer>> tasks =
+        IntStream.range(0, 20)
+            .<CheckedFunction0<Integer>>mapToObj(
+                i ->
+                    () -> {
+                      Thread.sleep((20 - i) % 5);
+                      if (i % 7 == 3) throw new IllegalStateException("task " + i);
+                      return i * i;
+                    })
+            .toList();
+    List<Integer> completed = new ArrayList<>();
+    try (TryBatchExecutor executor = TryBatchExecutor.builder().withMaxConcurrency(4).build()) {
+      BatchResult<Integer> batch = executor.run(tasks, (index, result) -> completed.add(index));
+
+      assertThat(batch.results()).hasSize(20);
+      for (int i = 0; i < 20; i++) {
+        Try<Integer> result = batch.results().get(i);
+        if (i % 7 == 3) {
+          assertThat(result.getCause()).hasMessage("task " + i);
+        } else {
+          assertThat(result.get()).isEqualTo(i * i);
+        }
+      }
+      assertThat(batch.failures()).isEqualTo(3);
+      assertThat(batch.completed()).isEqualTo(20);
+      assertThat(batch.skipped()).isZero();
+      assertThat(completed)
+          .containsExactlyInAnyOrderElementsOf(IntStream.range(0, 20).boxed().toList());
+      assertThat(batch.completionOrder())
+          .containsExactly(completed.stream().mapToInt(i -> i).toArray());
+      assertThat(batch.resultsInCompletionOrder().get(0))
+          .isSameAs(batch.results().get(completed.get(0)));
+      assertThat(batch.taskLatencies().count()).isEqualTo(20);
+      assertThat(batch.elapsed()).isPositive();
+    }
+  }
+
+  @Test
+  void test_run_should_never_run_more_tasks_than_max_concurrency() throws InterruptedException {
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    List<CheckedFunction0<Integer>> tasks =
+        IntStream.range(0, 50)
+            .<CheckedFunction0<Integer>>mapToObj(
+                i ->
+                    () -> {
+                      maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                      Thread.sleep(1);
+                      running.decrementAndGet();
+                      return i;
+                    })
+            .toList();
+    try (TryBatchExecutor executor = TryBatchExecutor.builder().withMaxConcurrency(3).build()) {
+      assertThat(executor.run(tasks).failures()).isZero();
+    }
+    assertThat(maxRunning.get()).isBetween(1, 3);
+  }
+
+  @Test
+  void test_run_should_stop_launching_tasks_when_failure_threshold_is_reached()
+      throws InterruptedException {
+    AtomicInteger started = new AtomicInteger();
+    List<CheckedFunction0<Double>> tasks =
+        IntStream.range(0, 100)
+            .<CheckedFunction0<Double>>mapToObj(
+                i ->
+                    () -> {
+                      started.incrementAndGet();
+                      throw new ArithmeticException("task " + i);
+                    })
+            .toList();
+    try (TryBatchExecutor executor =
+        TryBatchExecutor.builder().withMaxConcurrency(2).withFailureThreshold(5).build()) {
+      BatchResult<Double> batch = executor.run(tasks);
+
+      assertThat(batch.failures()).isBetween(5, 6);
+      assertThat(started.get()).isEqualTo(batch.completed());
+      assertThat(batch.skipped()).isEqualTo(100 - batch.completed());
+      assertThat(batch.results().get(99).getCause())
+          .isInstanceOf(CancellationException.class)
+          .hasMessage("failure threshold reached");
+    }
+  }
+
+  @Test
+  void test_run_tries_should_collect_try_results_and_wrap_fatal_errors()
+      throws InterruptedException {
+    FunctionalExceptionHandling handling = new FunctionalExceptionHandling();
+    List<Supplier<Try<URL>>> tasks =
+        List.of(
+            () -> handling.validateURL("http://www.google.com"),
+            () -> handling.validateURL("www.google.com:"),
+            () -> {
+              throw new StackOverflowError();
+            });
+    try (TryBatchExecutor executor = TryBatchExecutor.builder().build()) {
+      BatchResult<URL> batch = executor.runTries(tasks);
+      assertThat(batch.results().get(0).isSuccess()).isTrue();
+      assertThat(batch.results().get(1).isFailure()).isTrue();
+      assertThat(batch.results().get(2).getCause())
+          .isInstanceOf(ExecutionException.class)
+          .hasCauseInstanceOf(StackOverflowError.class);
+      assertThat(executor.usesVirtualThreads())
+          .isEqualTo(Runtime.version().feature() >= 21);
+    }
+  }
+
+  @Test
+  void test_run_should_cancel_running_tasks_when_completion_listener_throws()
+      throws InterruptedException {
+    CountDownLatch sleeping = new CountDownLatch(3);
+    CountDownLatch interrupted = new CountDownLatch(3);
+    List<CheckedFunction0<Integer>> tasks =
+        IntStream.range(0, 4)
+            .<CheckedFunction0<Integer>>mapToObj(
+                i ->
+                    () -> {
+                      if (i == 0) return sleeping.await(10, TimeUnit.SECONDS) ? i : -1;
+                      sleeping.countDown();
+                      try {
+                        Thread.sleep(60_000);
+                      } catch (InterruptedException e) {
+                        interrupted.countDown();
+                        throw e;
+                      }
+                      return i;
+                    })
+            .toList();
+    try (TryBatchExecutor executor = TryBatchExecutor.builder().withMaxConcurrency(4).build()) {
+      assertThatThrownBy(
+              () ->
+                  executor.run(
+                      tasks,
+                      (index, result) -> {
+                        throw new IllegalStateException("listener failed");
+                      }))
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessage("listener failed");
+
+      assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+  }
+
+  @Test
+  void test_builder_should_throw_exception_when_max_concurrency_is_not_positive() {
+    assertThatThrownBy(() -> TryBatchExecutor.builder().withMaxConcurrency(0).build())
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxConcurrency should be positive");
+  }
+}
@@ -0,0 +1,114 @@
+package functional.vavr.concepts;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.vavr.control.Try;
+import java.net.MalformedURLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+class TryMetricsTest {
+
+  private final TryMetrics metrics =
+      new TryMetrics(LoggerFactory.getLogger(TryMetricsTest.class), Duration.ofHours(1));
+
+  @Test
+  void test_record_should_count_successes_and_failures_per_exception_type() {
+    IntStream.range(0, 10).forEach(i -> metrics.record("parse", () -> Integer.parseInt("" + i)));
+    metrics.record("parse", () -> Integer.parseInt("x"));
+    metrics.record("parse", () -> Integer.parseInt(null));
+    int[] empty = new int[0];
+    Try<Integer> failure = metrics.record("parse", () -> empty[0]);
+
+    assertThat(failure.getCause()).isInstanceOf(ArrayIndexOutOfBoundsException.class);
+    TryMetrics.Snapshot snapshot = metrics.snapshot("parse");
+    assertThat(snapshot.successes()).isEqualTo(10);
+    assertThat(snapshot.failures())
+        .isEqualTo(
+            Map.of(
+                NumberFormatException.class.getName(), 2L,
+                ArrayIndexOutOfBoundsException.class.getName(), 1L));
+    assertThat(snapshot.failureCount()).isEqualTo(3);
+    assertThat(snapshot.latency().count()).isEqualTo(13);
+  }
+
+  @Test
+  void test_snapshot_should_list_every_operation_when_several_are_recorded() {
+    FunctionalExceptionHandling handling = new FunctionalExceptionHandling();
+    handling.divide(1, 2);
+    handling.validateURL("http://www.google.com");
+    IntStream.range(0, 1_000).forEach(i -> handling.validateURL("www.google.com:"));
+
+    Map<String, TryMetrics.Snapshot> snapshots = handling.metrics().snapshot();
+    assertThat(snapshots).containsOnlyKeys("divide", "validateURL");
+    assertThat(snapshots.get("divide").successes()).isEqualTo(1);
+    assertThat(snapshots.get("validateURL").successes()).isEqualTo(1);
+    assertThat(snapshots.get("validateURL").failures())
+        .containsEntry(MalformedURLException.class.getName(), 1_000L);
+  }
+
+  @Test
+  void test_snapshot_should_be_empty_and_register_nothing_when_operation_is_unknown() {
+    TryMetrics.Snapshot snapshot = metrics.snapshot("unknown");
+
+    assertThat(snapshot.successes()).isZero();
+    assertThat(snapshot.failureCount()).isZero();
+    assertThat(snapshot.latency().count()).isZero();
+    assertThat(metrics.snapshot()).isEmpty();
+  }
+
+  @Test
+  void test_record_should_log_the_failure_with_its_stack_trace() {
+    Logger logger = (Logger) LoggerFactory.getLogger("TryMetricsTest.failures");
+    ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    appender.start();
+    logger.addAppender(appender);
+    try {
+      new TryMetrics(logger, Duration.ZERO)
+          .record(
+              "fail",
+              () -> {
+                throw new IllegalStateException();
+              });
+    } finally {
+      logger.detachAppender(appender);
+    }
+
+    assertThat(appender.list).hasSize(1);
+    assertThat(appender.list.get(0).getThrowableProxy().getClassName())
+        .isEqualTo(IllegalStateException.class.getName());
+  }
+
+  @Test
+  void test_latency_histogram_should_report_percentiles_within_bucket_precision() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long value = 1; value <= 100_000; value++) {
+      histogram.record(value);
+    }
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+    assertThat(snapshot.count()).isEqualTo(100_000);
+    assertThat(snapshot.max()).isEqualTo(100_000);
+    assertThat(snapshot.valueAtPercentile(50)).isBetween(50_000L, 51_600L);
+    assertThat(snapshot.valueAtPercentile(99)).isBetween(99_000L, 100_000L);
+    assertThat(snapshot.valueAtPercentile(100)).isEqualTo(100_000);
+    assertThat(new LatencyHistogram().snapshot().valueAtPercentile(99)).isZero();
+  }
+
+  @Test
+  void test_latency_histogram_buckets_should_cover_every_value_in_order() {
+    long previous = -1;
+    for (int bucket = 0; bucket < 64 * 32 - 5 * 32; bucket++) {
+      long highest = LatencyHistogram.highestValueIn(bucket);
+      assertThat(LatencyHistogram.bucket(highest)).isEqualTo(bucket);
+      assertThat(LatencyHistogram.bucket(previous + 1)).isEqualTo(bucket);
+      previous = highest;
+    }
+    assertThat(previous).isEqualTo(Long.MAX_VALUE);
+  }
+}